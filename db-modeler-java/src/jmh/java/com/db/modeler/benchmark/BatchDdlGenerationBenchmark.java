@@ -0,0 +1,78 @@
+package com.db.modeler.benchmark;
+
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.service.ddl.ParallelDdlGenerator;
+import com.db.modeler.service.impl.MySQLDDLGeneratorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量生成建表 DDL 的吞吐量：顺序生成与 ParallelDdlGenerator 并行生成对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchDdlGenerationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int tables;
+
+    @Param({"20"})
+    private int columns;
+
+    /**
+     * 并行线程数，0 表示使用CPU核数
+     */
+    @Param({"0"})
+    private int parallelism;
+
+    private List<TableDesign> designs;
+
+    private MySQLDDLGeneratorServiceImpl generator;
+
+    private ParallelDdlGenerator parallelGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        designs = SyntheticSchemas.tables(tables, columns, 42L);
+        generator = BenchmarkBeans.ddlGenerator(tables);
+        parallelGenerator = new ParallelDdlGenerator(parallelism, 32);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallelGenerator.shutdown();
+    }
+
+    @Benchmark
+    public List<String> sequential() {
+        List<String> ddls = new ArrayList<>(designs.size());
+        for (TableDesign design : designs) {
+            ddls.add(generator.generateCreateTableDDL(design));
+        }
+        return ddls;
+    }
+
+    @Benchmark
+    public List<String> parallel() {
+        return parallelGenerator.generate(designs, generator::generateCreateTableDDL);
+    }
+}
@@ -0,0 +1,90 @@
+package com.db.modeler.benchmark;
+
+import com.db.modeler.repository.TableDesignRepository;
+import com.db.modeler.repository.TableRelationMapper;
+import com.db.modeler.service.DDLGeneratorService;
+import com.db.modeler.service.TableDesignService;
+import com.db.modeler.service.TableRelationService;
+import com.db.modeler.service.ddl.ColumnModelCache;
+import com.db.modeler.service.ddl.ParallelDdlGenerator;
+import com.db.modeler.service.ddl.SqlScriptExecutor;
+import com.db.modeler.service.impl.MySQLDDLGeneratorServiceImpl;
+import com.db.modeler.service.impl.TableDesignServiceImpl;
+import com.db.modeler.service.impl.TableRelationServiceImpl;
+import com.db.modeler.service.relation.TableRelationGraphIndex;
+import com.db.modeler.service.sync.DdlExecutionPlanBuilder;
+import com.db.modeler.service.sync.SchemaSnapshotStore;
+import com.db.modeler.service.sync.TableSyncEngine;
+import com.db.modeler.service.sync.TargetDataSourceResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockito.Mockito;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * 通过 Spring 容器注入创建被测服务，被测路径不访问的依赖以桩对象代替
+ */
+final class BenchmarkBeans {
+
+    private BenchmarkBeans() {
+    }
+
+    /**
+     * 不连接数据库的 DDL 生成器
+     */
+    static MySQLDDLGeneratorServiceImpl ddlGenerator(int columnCacheSize) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().registerSingleton("columnModelCache",
+            new ColumnModelCache(new ObjectMapper(), columnCacheSize));
+        context.getBeanFactory().registerSingleton("jdbcTemplate", new JdbcTemplate());
+        registerStub(context, SqlScriptExecutor.class);
+        context.registerBean(MySQLDDLGeneratorServiceImpl.class);
+        context.refresh();
+        return context.getBean(MySQLDDLGeneratorServiceImpl.class);
+    }
+
+    /**
+     * 只有表设计仓库可用的表设计服务，适用于校验和按ID加载
+     */
+    static TableDesignService tableDesignService(TableDesignRepository repository) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().registerSingleton("tableDesignRepository", repository);
+        for (Class<?> type : List.of(DDLGeneratorService.class, TableSyncEngine.class, DdlExecutionPlanBuilder.class,
+            ColumnModelCache.class, ParallelDdlGenerator.class, SchemaSnapshotStore.class,
+            TargetDataSourceResolver.class, SqlScriptExecutor.class)) {
+            registerStub(context, type);
+        }
+        context.registerBean(TableDesignServiceImpl.class);
+        context.refresh();
+        return context.getBean(TableDesignService.class);
+    }
+
+    /**
+     * 只有表关系 Mapper 可用的表关系服务，适用于按项目加载关系
+     */
+    static TableRelationService tableRelationService(TableRelationMapper mapper) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().registerSingleton("tableRelationMapper", mapper);
+        registerStub(context, TableDesignService.class);
+        registerStub(context, TableRelationGraphIndex.class);
+        context.registerBean(TableRelationServiceImpl.class);
+        context.refresh();
+        return context.getBean(TableRelationService.class);
+    }
+
+    /**
+     * 以单例注册，容器不会再对桩对象做依赖注入
+     */
+    private static void registerStub(AnnotationConfigApplicationContext context, Class<?> type) {
+        context.getBeanFactory().registerSingleton(type.getName(), stub(type));
+    }
+
+    /**
+     * 所有方法返回默认值且不记录调用的桩对象
+     */
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+}
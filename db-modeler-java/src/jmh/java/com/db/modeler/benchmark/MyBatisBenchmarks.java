@@ -0,0 +1,49 @@
+package com.db.modeler.benchmark;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.InputStream;
+
+/**
+ * 使用真实 Mapper XML 和 H2 内存库（MySQL 模式）的基准环境
+ */
+final class MyBatisBenchmarks {
+
+    private MyBatisBenchmarks() {
+    }
+
+    /**
+     * 进程内共享、关闭连接后仍保留数据的 H2 内存库
+     */
+    static SingleConnectionDataSource h2(String name) {
+        return new SingleConnectionDataSource(
+            "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", true);
+    }
+
+    /**
+     * 与应用相同的 MyBatis 配置：下划线转驼峰、实体别名、UUID 类型处理器，加载指定的 Mapper XML
+     */
+    static SqlSessionFactory sqlSessionFactory(SingleConnectionDataSource dataSource, Interceptor interceptor,
+                                               String... mapperResources) throws Exception {
+        Configuration configuration = new Configuration(
+            new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeAliasRegistry().registerAliases("com.db.modeler.entity");
+        configuration.getTypeHandlerRegistry().register("com.db.modeler.mapper.typehandler");
+        configuration.addInterceptor(interceptor);
+        for (String resource : mapperResources) {
+            try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+                new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+            }
+        }
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+}
@@ -0,0 +1,44 @@
+package com.db.modeler.benchmark;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 统计实际发送到数据库的查询语句，可为每条查询模拟网络往返时间
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}))
+final class QueryCounter implements Interceptor {
+
+    private final AtomicLong queries = new AtomicLong();
+
+    private volatile long roundTripNanos;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        queries.incrementAndGet();
+        if (roundTripNanos > 0) {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+        return invocation.proceed();
+    }
+
+    void setRoundTripNanos(long roundTripNanos) {
+        this.roundTripNanos = roundTripNanos;
+    }
+
+    void reset() {
+        queries.set(0);
+    }
+
+    long count() {
+        return queries.get();
+    }
+}
@@ -0,0 +1,99 @@
+package com.db.modeler.benchmark;
+
+import com.db.modeler.entity.ColumnDefinition;
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.service.ddl.TableSchemaDiff;
+import com.db.modeler.service.impl.MySQLDDLGeneratorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单表 DDL 生成的耗时，按表宽度（列数）变化
+ *
+ * createTable 命中列定义缓存，createTableUncached 每次都解析列定义 JSON；
+ * alterTable 对比的新旧结构见 {@link SyntheticSchemas#altered(List)}。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SingleTableDdlBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    private int width;
+
+    private MySQLDDLGeneratorServiceImpl generator;
+
+    private TableDesign table;
+
+    private TableDesign uncachedTable;
+
+    private TableDesign alteredTable;
+
+    private List<ColumnDefinition> columns;
+
+    private List<ColumnDefinition> columnCopies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = BenchmarkBeans.ddlGenerator(16);
+        table = SyntheticSchemas.table(1, width, 42L);
+        columns = SyntheticSchemas.columns(width, 43L);
+        columnCopies = SyntheticSchemas.altered(columns);
+
+        uncachedTable = SyntheticSchemas.table(1, width, 42L);
+        uncachedTable.setId(null);
+
+        alteredTable = SyntheticSchemas.table(1, width, 42L);
+        alteredTable.setId(new UUID(0L, 2L));
+        alteredTable.setColumns(SyntheticSchemas.toJson(SyntheticSchemas.altered(SyntheticSchemas.columns(width, 43L))));
+    }
+
+    @Benchmark
+    public String createTable() {
+        return generator.generateCreateTableDDL(table);
+    }
+
+    @Benchmark
+    public String createTableUncached() {
+        return generator.generateCreateTableDDL(uncachedTable);
+    }
+
+    @Benchmark
+    public String alterTable() {
+        return generator.generateAlterTableDDL(table, alteredTable);
+    }
+
+    /**
+     * 按位置逐对比较新旧列，覆盖相等、注释不同和代码不同三种情况
+     */
+    @Benchmark
+    public void columnsEqual(Blackhole blackhole) {
+        int pairs = Math.min(columns.size(), columnCopies.size());
+        for (int i = 0; i < pairs; i++) {
+            blackhole.consume(TableSchemaDiff.columnsEqual(columns.get(i), columnCopies.get(i)));
+        }
+    }
+
+    @Benchmark
+    public TableSchemaDiff schemaDiff() {
+        return TableSchemaDiff.between(columns, columnCopies);
+    }
+}
@@ -0,0 +1,171 @@
+package com.db.modeler.benchmark;
+
+import com.db.modeler.entity.ColumnDefinition;
+import com.db.modeler.entity.TableDesign;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 基准测试用的合成表结构，相同参数生成的结构完全一致
+ */
+final class SyntheticSchemas {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String[] DATA_TYPES = {"INT", "BIGINT", "VARCHAR", "DECIMAL", "DATETIME", "TEXT"};
+
+    private SyntheticSchemas() {
+    }
+
+    static List<ColumnDefinition> columns(int width, long seed) {
+        Random random = new Random(seed);
+        List<ColumnDefinition> columns = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            ColumnDefinition column = new ColumnDefinition();
+            column.setCode(i == 0 ? "id" : "col_" + i);
+            column.setDisplayName("Column " + i);
+            String dataType = i == 0 ? "BIGINT" : DATA_TYPES[random.nextInt(DATA_TYPES.length)];
+            column.setDataType(dataType);
+            if ("VARCHAR".equals(dataType)) {
+                column.setLength(32 + random.nextInt(224));
+            } else if ("DECIMAL".equals(dataType)) {
+                column.setPrecision(18);
+                column.setScale(4);
+            }
+            column.setPrimaryKey(i == 0);
+            column.setNullable(i != 0 && random.nextBoolean());
+            column.setComment("synthetic column " + i);
+            column.setIndexes(i > 0 && i % 10 == 0 ? Collections.singletonList("idx_col_" + i) : Collections.emptyList());
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    static TableDesign table(int index, int width, long seed) {
+        TableDesign tableDesign = new TableDesign();
+        tableDesign.setId(new UUID(seed, index));
+        tableDesign.setProjectId(new UUID(seed, 0));
+        tableDesign.setCode("t_" + index);
+        tableDesign.setDisplayName("Table " + index);
+        tableDesign.setComment("synthetic table " + index);
+        tableDesign.setColumns(toJson(columns(width, seed + index)));
+        return tableDesign;
+    }
+
+    static List<TableDesign> tables(int count, int width, long seed) {
+        List<TableDesign> tables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tables.add(table(i, width, seed));
+        }
+        return tables;
+    }
+
+    /**
+     * 在原有列基础上做一组典型变更：每 10 列修改注释、每 25 列删除一列、末尾追加 5% 的新列
+     */
+    static List<ColumnDefinition> altered(List<ColumnDefinition> columns) {
+        List<ColumnDefinition> altered = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnDefinition source = columns.get(i);
+            if (i > 0 && i % 25 == 0) {
+                continue;
+            }
+            ColumnDefinition column = copy(source);
+            if (i > 0 && i % 10 == 0) {
+                column.setComment(source.getComment() + " (changed)");
+            }
+            altered.add(column);
+        }
+        int added = Math.max(1, columns.size() / 20);
+        for (int i = 0; i < added; i++) {
+            ColumnDefinition column = new ColumnDefinition();
+            column.setCode("added_" + i);
+            column.setDisplayName("Added " + i);
+            column.setDataType("VARCHAR");
+            column.setLength(64);
+            column.setNullable(true);
+            column.setIndexes(Collections.emptyList());
+            altered.add(column);
+        }
+        return altered;
+    }
+
+    static ColumnDefinition copy(ColumnDefinition source) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setCode(source.getCode());
+        column.setDisplayName(source.getDisplayName());
+        column.setDataType(source.getDataType());
+        column.setLength(source.getLength());
+        column.setPrecision(source.getPrecision());
+        column.setScale(source.getScale());
+        column.setNullable(source.isNullable());
+        column.setDefaultValue(source.getDefaultValue());
+        column.setPrimaryKey(source.isPrimaryKey());
+        column.setComment(source.getComment());
+        column.setIndexes(source.getIndexes());
+        return column;
+    }
+
+    /**
+     * 表设计校验使用的 {fields, indexes} 格式列定义
+     */
+    static String validationColumnsJson(int width, long seed) {
+        List<Map<String, Object>> fields = new ArrayList<>(width);
+        List<Map<String, Object>> indexes = new ArrayList<>();
+        for (ColumnDefinition column : columns(width, seed)) {
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put("name", column.getCode());
+            field.put("displayName", column.getDisplayName());
+            field.put("dataType", column.getDataType());
+            if (column.getLength() != null) {
+                field.put("length", column.getLength());
+            }
+            if (column.getPrecision() != null) {
+                field.put("precision", column.getPrecision());
+                field.put("scale", column.getScale());
+            }
+            field.put("nullable", column.isNullable());
+            fields.add(field);
+            for (String indexName : column.getIndexes()) {
+                Map<String, Object> index = new LinkedHashMap<>();
+                index.put("name", indexName);
+                index.put("type", "INDEX");
+                index.put("columns", Collections.singletonList(column.getCode()));
+                indexes.add(index);
+            }
+        }
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("fields", fields);
+        columns.put("indexes", indexes);
+        return writeJson(columns);
+    }
+
+    static String metadataJson() {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("dbType", "MYSQL");
+        metadata.put("engine", "InnoDB");
+        metadata.put("charset", "utf8mb4");
+        metadata.put("collate", "utf8mb4_general_ci");
+        return writeJson(metadata);
+    }
+
+    static String toJson(List<ColumnDefinition> columns) {
+        return writeJson(columns);
+    }
+
+    private static String writeJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.db.modeler.benchmark;
+
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.repository.TableDesignRepository;
+import com.db.modeler.service.TableDesignService;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 加载表设计的查询次数与耗时：逐个 getTableDesignById 与 getTableDesignsByIds 批量加载对比
+ *
+ * 使用真实的 TableDesignMapper.xml 和 H2 内存库（MySQL 模式），拦截器统计实际执行的查询语句，
+ * roundTripMicros 为每条查询额外模拟的网络往返时间。queries 为每次调用执行的查询次数。
+ * H2 的绝对耗时不代表 MySQL，主要比较查询次数以及往返时间带来的差距。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableDesignLoadBenchmark {
+
+    @Param({"1000", "10000"})
+    private int tables;
+
+    @Param({"0", "200"})
+    private int roundTripMicros;
+
+    private SingleConnectionDataSource dataSource;
+
+    private TableDesignService service;
+
+    private QueryCounter queryCounter;
+
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = MyBatisBenchmarks.h2("table_design_load");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE table_designs ("
+            + "id VARCHAR(36) NOT NULL PRIMARY KEY, code VARCHAR(100) NOT NULL, display_name VARCHAR(100) NOT NULL,"
+            + " comment TEXT, type VARCHAR(20) NOT NULL DEFAULT 'TABLE', domain VARCHAR(20) NOT NULL DEFAULT 'BUSINESS',"
+            + " columns TEXT, status VARCHAR(20) NOT NULL DEFAULT 'DRAFT', metadata TEXT, created_by VARCHAR(36),"
+            + " synced BOOLEAN DEFAULT FALSE, project_id VARCHAR(36) NOT NULL,"
+            + " created_at DATETIME DEFAULT CURRENT_TIMESTAMP, updated_at DATETIME DEFAULT CURRENT_TIMESTAMP)");
+
+        queryCounter = new QueryCounter();
+        TableDesignRepository repository = new SqlSessionTemplate(
+            MyBatisBenchmarks.sqlSessionFactory(dataSource, queryCounter, "mapper/TableDesignMapper.xml"))
+            .getMapper(TableDesignRepository.class);
+        ids = new ArrayList<>(tables);
+        for (TableDesign tableDesign : SyntheticSchemas.tables(tables, 20, 42L)) {
+            repository.save(tableDesign);
+            ids.add(tableDesign.getId());
+        }
+
+        // 这两个方法只访问 TableDesignRepository
+        service = BenchmarkBeans.tableDesignService(repository);
+        queryCounter.setRoundTripNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    /**
+     * 优化前的加载方式：每张表一次 findById
+     */
+    @Benchmark
+    public int perIdLookup(Queries queries) {
+        queryCounter.reset();
+        int loaded = 0;
+        for (UUID id : ids) {
+            if (service.getTableDesignById(id) != null) {
+                loaded++;
+            }
+        }
+        queries.queries = queryCounter.count();
+        return loaded;
+    }
+
+    /**
+     * 按 IN 列表分批加载
+     */
+    @Benchmark
+    public int bulkLookup(Queries queries) {
+        queryCounter.reset();
+        int loaded = service.getTableDesignsByIds(ids).size();
+        queries.queries = queryCounter.count();
+        return loaded;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Queries {
+        // 最近一次调用执行的查询次数
+        public long queries;
+    }
+}
@@ -0,0 +1,64 @@
+package com.db.modeler.benchmark;
+
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.repository.TableDesignRepository;
+import com.db.modeler.service.TableDesignService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 保存表设计前的校验耗时（元数据、字段和索引定义），按表宽度和表数量变化
+ *
+ * 通过 createTableDesign 调用，仓库为桩对象，除校验外只有查重和保存两次空调用。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableDesignValidationBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    private int width;
+
+    @Param({"1", "100"})
+    private int tables;
+
+    private TableDesignService service;
+
+    private List<TableDesign> designs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkBeans.tableDesignService(BenchmarkBeans.stub(TableDesignRepository.class));
+        designs = SyntheticSchemas.tables(tables, 1, 42L);
+        String metadata = SyntheticSchemas.metadataJson();
+        for (int i = 0; i < designs.size(); i++) {
+            TableDesign design = designs.get(i);
+            design.setMetadata(metadata);
+            design.setColumns(SyntheticSchemas.validationColumnsJson(width, 42L + i));
+        }
+    }
+
+    @Benchmark
+    public int createTableDesign() {
+        for (TableDesign design : designs) {
+            service.createTableDesign(design);
+        }
+        return designs.size();
+    }
+}
@@ -0,0 +1,192 @@
+package com.db.modeler.benchmark;
+
+import com.db.modeler.entity.TableRelation;
+import com.db.modeler.repository.TableRelationMapper;
+import com.db.modeler.service.TableRelationService;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按项目加载表关系的查询次数与耗时：关联查询列映射与不加载列映射两种模式
+ *
+ * 使用真实的 TableRelationMapper.xml 和 H2 内存库（MySQL 模式）。准备数据后先检查两种模式都只执行一条查询，
+ * 并且关联模式加载了每个关系的全部列映射，不满足时基准直接失败（可用 -foe true 让 JMH 以非零状态退出）。
+ * queries 为每次调用执行的查询次数。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableRelationLoadBenchmark {
+
+    // 每条 INSERT 的行数
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    @Param({"1000", "5000"})
+    private int relations;
+
+    @Param({"2"})
+    private int mappingsPerRelation;
+
+    private SingleConnectionDataSource dataSource;
+
+    private TableRelationService service;
+
+    private QueryCounter queryCounter;
+
+    private UUID projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = MyBatisBenchmarks.h2("table_relation_load");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // created_at/updated_at 为实体中的毫秒时间戳
+        jdbcTemplate.execute("CREATE TABLE table_relations ("
+            + "id VARCHAR(36) NOT NULL PRIMARY KEY, project_id VARCHAR(36) NOT NULL,"
+            + " source_table_id VARCHAR(36) NOT NULL, target_table_id VARCHAR(36) NOT NULL,"
+            + " relation_type VARCHAR(20) NOT NULL, description TEXT, imported BOOLEAN NOT NULL DEFAULT FALSE,"
+            + " created_at BIGINT, updated_at BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE table_relation_column_mappings ("
+            + "relation_id VARCHAR(36) NOT NULL, source_column_id VARCHAR(36), target_column_id VARCHAR(36),"
+            + " mapping_type VARCHAR(20),"
+            + " FOREIGN KEY (relation_id) REFERENCES table_relations(id) ON DELETE CASCADE)");
+        jdbcTemplate.execute("CREATE INDEX idx_column_mappings_relation ON table_relation_column_mappings (relation_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_relations_project ON table_relations (project_id)");
+
+        queryCounter = new QueryCounter();
+        TableRelationMapper mapper = new SqlSessionTemplate(
+            MyBatisBenchmarks.sqlSessionFactory(dataSource, queryCounter, "mapper/TableRelationMapper.xml"))
+            .getMapper(TableRelationMapper.class);
+        projectId = UUID.randomUUID();
+        List<TableRelation> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < relations; i++) {
+            batch.add(relation(i));
+            if (batch.size() == INSERT_BATCH_SIZE || i == relations - 1) {
+                mapper.batchInsert(batch);
+                mapper.batchInsertColumnMappings(batch);
+                batch = new ArrayList<>(INSERT_BATCH_SIZE);
+            }
+        }
+
+        // 这个方法只访问 TableRelationMapper
+        service = BenchmarkBeans.tableRelationService(mapper);
+        verifyStatementCounts();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    /**
+     * 一条关联查询加载关系和列映射
+     */
+    @Benchmark
+    public int joinedLoad(Queries queries) {
+        queryCounter.reset();
+        int loaded = service.getTableRelationsByProjectId(projectId, true).size();
+        queries.queries = queryCounter.count();
+        return loaded;
+    }
+
+    /**
+     * 不加载列映射，如环检测
+     */
+    @Benchmark
+    public int lazyLoad(Queries queries) {
+        queryCounter.reset();
+        int loaded = service.getTableRelationsByProjectId(projectId, false).size();
+        queries.queries = queryCounter.count();
+        return loaded;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Queries {
+        // 最近一次调用执行的查询次数
+        public long queries;
+    }
+
+    /**
+     * 关联模式和不加载列映射的模式都只执行一条查询；每个关系各有 mappingsPerRelation 个列映射
+     */
+    private void verifyStatementCounts() {
+        queryCounter.reset();
+        List<TableRelation> joined = service.getTableRelationsByProjectId(projectId, true);
+        check("joined load", joined, queryCounter.count());
+        for (TableRelation relation : joined) {
+            int mappings = relation.getColumnMappings() == null ? 0 : relation.getColumnMappings().size();
+            if (mappings != mappingsPerRelation) {
+                throw new IllegalStateException("joined load: relation " + relation.getId() + " has " + mappings
+                    + " column mappings, expected " + mappingsPerRelation);
+            }
+        }
+
+        queryCounter.reset();
+        List<TableRelation> lazy = service.getTableRelationsByProjectId(projectId, false);
+        check("lazy load", lazy, queryCounter.count());
+        for (TableRelation relation : lazy) {
+            if (relation.getColumnMappings() != null && !relation.getColumnMappings().isEmpty()) {
+                throw new IllegalStateException("lazy load: relation " + relation.getId() + " has column mappings");
+            }
+        }
+    }
+
+    private void check(String mode, List<TableRelation> loaded, long statements) {
+        if (statements != 1) {
+            throw new IllegalStateException(mode + ": executed " + statements + " statements for " + relations
+                + " relations, expected 1");
+        }
+        if (loaded.size() != relations) {
+            throw new IllegalStateException(mode + ": loaded " + loaded.size() + " relations, expected " + relations);
+        }
+    }
+
+    private TableRelation relation(int index) {
+        UUID id = UUID.randomUUID();
+        UUID sourceTableId = UUID.randomUUID();
+        UUID targetTableId = UUID.randomUUID();
+        List<TableRelation.ColumnMapping> mappings = new ArrayList<>(mappingsPerRelation);
+        for (int i = 0; i < mappingsPerRelation; i++) {
+            mappings.add(new TableRelation.ColumnMapping(
+                TableRelation.ColumnMapping.columnId(sourceTableId, "column_" + i),
+                TableRelation.ColumnMapping.columnId(targetTableId, "column_" + i),
+                "FOREIGN_KEY"));
+        }
+        long now = System.currentTimeMillis();
+        return TableRelation.builder()
+            .id(id)
+            .projectId(projectId)
+            .sourceTableId(sourceTableId)
+            .targetTableId(targetTableId)
+            .relationType(TableRelation.RelationType.MANY_TO_ONE)
+            .description("relation " + index)
+            .columnMappings(mappings)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    }
+}
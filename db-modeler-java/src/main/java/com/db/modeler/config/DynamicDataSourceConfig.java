@@ -1,21 +1,246 @@
 package com.db.modeler.config;
 
 import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.exception.DatabaseConnectionException;
+import com.db.modeler.mapper.DatabaseConfigMapper;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 目标数据库连接池注册表
+ *
+ * 每个数据库配置最多一个连接池，按配置ID和连接信息摘要去重：连接信息不变时复用已有连接池，
+ * 变化时新连接池替换旧连接池并关闭旧连接池。所有连接池的最大连接数之和不超过
+ * {@code app.target-pool.max-total-connections}，超出时先关闭最久未使用的空闲连接池（刚被获取的连接池除外）；
+ * 空闲超过 {@code app.target-pool.idle-ttl-ms} 的连接池由定时任务关闭。
+ */
 @Component
 public class DynamicDataSourceConfig {
-    private final Map<UUID, HikariDataSource> dataSources = new ConcurrentHashMap<>();
 
+    private static final Logger logger = LoggerFactory.getLogger(DynamicDataSourceConfig.class);
+
+    // 获取后在此时间内不会为其他连接池腾出预算而被关闭，调用方拿到连接池后还没来得及借出连接
+    private static final long ACQUIRED_GRACE_MS = 30_000;
+
+    // 按访问顺序排列，最久未使用的在前；所有访问都在 this 上同步
+    private final LinkedHashMap<UUID, TargetPool> pools = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    private DatabaseConfigMapper databaseConfigMapper;
+
+    @Value("${app.target-pool.max-pool-size:10}")
+    private int maxPoolSize;
+
+    @Value("${app.target-pool.min-idle:0}")
+    private int minIdle;
+
+    @Value("${app.target-pool.max-total-connections:200}")
+    private int maxTotalConnections;
+
+    @Value("${app.target-pool.idle-ttl-ms:600000}")
+    private long idleTtlMs;
+
+    /**
+     * 获取配置对应的连接池，连接信息未变化时复用已有连接池
+     */
     public DataSource createDataSource(DatabaseConfig config) {
+        return acquire(config);
+    }
+
+    /**
+     * 获取数据库配置对应的连接池，不存在时按配置懒加载创建，之后的调用复用同一个连接池
+     *
+     * 已有连接池时直接返回，不再查询配置；配置的修改和删除通过 refreshDataSource、removeDataSource 生效。
+     * @param configId 数据库配置ID
+     * @return 连接池，配置不存在时返回 null
+     */
+    public DataSource getDataSource(UUID configId) {
+        synchronized (this) {
+            TargetPool pool = pools.get(configId);
+            if (pool != null && !pool.dataSource.isClosed()) {
+                pool.lastUsedAt = System.currentTimeMillis();
+                return pool.dataSource;
+            }
+        }
+        DatabaseConfig config = databaseConfigMapper.selectById(configId);
+        if (config == null) {
+            removeDataSource(configId);
+            return null;
+        }
+        return acquire(config);
+    }
+
+    /**
+     * 配置更新后调用：连接信息变化时关闭旧连接池，下次使用时按新配置创建
+     */
+    public void refreshDataSource(DatabaseConfig config) {
+        HikariDataSource retired = null;
+        synchronized (this) {
+            TargetPool pool = pools.get(config.getId());
+            if (pool != null && !pool.fingerprint.equals(fingerprint(config))) {
+                pools.remove(config.getId());
+                retired = pool.dataSource;
+            }
+        }
+        close(retired);
+    }
+
+    public void removeDataSource(UUID configId) {
+        TargetPool pool;
+        synchronized (this) {
+            pool = pools.remove(configId);
+        }
+        if (pool != null) {
+            close(pool.dataSource);
+        }
+    }
+
+    /**
+     * 配置对应连接池的运行状态，没有连接池时返回 null；不会创建连接池，也不改变淘汰顺序
+     */
+    public synchronized TargetPoolStats getPoolStats(UUID configId) {
+        // get 会调整访问顺序，监控读取不应让连接池看起来刚被使用过
+        for (Map.Entry<UUID, TargetPool> entry : pools.entrySet()) {
+            if (!entry.getKey().equals(configId)) {
+                continue;
+            }
+            HikariDataSource dataSource = entry.getValue().dataSource;
+            HikariPoolMXBean pool = dataSource.isClosed() ? null : dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                return null;
+            }
+            return new TargetPoolStats(pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getTotalConnections(), entry.getValue().maxSize, pool.getThreadsAwaitingConnection());
+        }
+        return null;
+    }
+
+    /**
+     * 当前所有连接池的最大连接数之和
+     */
+    public synchronized int getReservedConnections() {
+        int reserved = 0;
+        for (TargetPool pool : pools.values()) {
+            reserved += pool.maxSize;
+        }
+        return reserved;
+    }
+
+    private DataSource acquire(DatabaseConfig config) {
+        if (config.getId() == null) {
+            throw new DatabaseConnectionException("Database config must be saved before its connection pool is created");
+        }
+        String fingerprint = fingerprint(config);
+        List<HikariDataSource> retired = new ArrayList<>();
+        try {
+            synchronized (this) {
+                TargetPool pool = pools.get(config.getId());
+                if (pool != null && pool.fingerprint.equals(fingerprint) && !pool.dataSource.isClosed()) {
+                    pool.lastUsedAt = System.currentTimeMillis();
+                    return pool.dataSource;
+                }
+                if (pool != null) {
+                    pools.remove(config.getId());
+                    retired.add(pool.dataSource);
+                }
+
+                int size = reserve(retired);
+                HikariDataSource dataSource = buildDataSource(config, size);
+                pools.put(config.getId(), new TargetPool(dataSource, fingerprint, size));
+                logger.info("Created connection pool for database config {} with up to {} connections",
+                    config.getId(), size);
+                return dataSource;
+            }
+        } finally {
+            // 关闭连接池可能要等待归还中的连接，不在锁内执行
+            for (HikariDataSource dataSource : retired) {
+                close(dataSource);
+            }
+        }
+    }
+
+    /**
+     * 为新连接池分配连接数，预算不足时按最近最少使用的顺序淘汰没有活动连接的连接池；
+     * 刚被获取的连接池即使还没有借出连接也不会淘汰，否则调用方拿到的可能是已关闭的连接池
+     * @return 新连接池的最大连接数
+     */
+    private int reserve(List<HikariDataSource> retired) {
+        int available = maxTotalConnections - getReservedConnections();
+        long acquiredBefore = System.currentTimeMillis() - ACQUIRED_GRACE_MS;
+        Iterator<TargetPool> iterator = pools.values().iterator();
+        while (available < maxPoolSize && iterator.hasNext()) {
+            TargetPool pool = iterator.next();
+            if (pool.lastUsedAt < acquiredBefore && pool.activeConnections() == 0) {
+                iterator.remove();
+                retired.add(pool.dataSource);
+                available += pool.maxSize;
+            }
+        }
+        if (available < 1) {
+            throw new DatabaseConnectionException("Target connection budget of " + maxTotalConnections
+                + " connections is in use by other databases");
+        }
+        return Math.min(maxPoolSize, available);
+    }
+
+    /**
+     * 关闭空闲超过 TTL 且没有活动连接的连接池
+     */
+    @Scheduled(fixedDelayString = "${app.target-pool.eviction-interval-ms:60000}")
+    public void evictIdlePools() {
+        long expiredBefore = System.currentTimeMillis() - idleTtlMs;
+        List<HikariDataSource> expired = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<UUID, TargetPool>> iterator = pools.entrySet().iterator();
+            while (iterator.hasNext()) {
+                TargetPool pool = iterator.next().getValue();
+                if (pool.lastUsedAt < expiredBefore && pool.activeConnections() == 0) {
+                    iterator.remove();
+                    expired.add(pool.dataSource);
+                }
+            }
+        }
+        for (HikariDataSource dataSource : expired) {
+            logger.info("Closing idle connection pool {}", dataSource.getPoolName());
+            close(dataSource);
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        List<TargetPool> all;
+        synchronized (this) {
+            all = new ArrayList<>(pools.values());
+            pools.clear();
+        }
+        for (TargetPool pool : all) {
+            close(pool.dataSource);
+        }
+    }
+
+    private HikariDataSource buildDataSource(DatabaseConfig config, int size) {
         HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("target-" + config.getId());
         
         // Set basic properties
         hikariConfig.setJdbcUrl(buildJdbcUrl(config));
@@ -23,11 +248,13 @@ public class DynamicDataSourceConfig {
         hikariConfig.setPassword(config.getPassword());
         
         // Set pool configuration
-        hikariConfig.setMaximumPoolSize(10);
-        hikariConfig.setMinimumIdle(5);
+        hikariConfig.setMaximumPoolSize(size);
+        hikariConfig.setMinimumIdle(Math.min(minIdle, size));
         hikariConfig.setIdleTimeout(300000); // 5 minutes
         hikariConfig.setConnectionTimeout(20000); // 20 seconds
         hikariConfig.setMaxLifetime(1200000); // 20 minutes
+        // 创建连接池时不连接数据库，连接失败在获取连接时报告
+        hikariConfig.setInitializationFailTimeout(-1);
         
         // Set driver class name based on database type
         String driverClassName = switch (config.getType()) {
@@ -38,25 +265,30 @@ public class DynamicDataSourceConfig {
         };
         hikariConfig.setDriverClassName(driverClassName);
         
-        // Create and store the data source
-        HikariDataSource dataSource = new HikariDataSource(hikariConfig);
-        dataSources.put(config.getId(), dataSource);
-        
-        return dataSource;
-    }
-
-    public DataSource getDataSource(UUID configId) {
-        return dataSources.get(configId);
+        return new HikariDataSource(hikariConfig);
     }
 
-    public void removeDataSource(UUID configId) {
-        HikariDataSource dataSource = dataSources.remove(configId);
+    private void close(HikariDataSource dataSource) {
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
         }
     }
 
-    private String buildJdbcUrl(DatabaseConfig config) {
+    /**
+     * 连接信息摘要，只保存摘要而不保存密码
+     */
+    public static String fingerprint(DatabaseConfig config) {
+        String connectionInfo = String.join("\u0000", String.valueOf(config.getType()), config.getHost(),
+            String.valueOf(config.getPort()), config.getDatabaseName(), config.getUsername(), config.getPassword());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(connectionInfo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String buildJdbcUrl(DatabaseConfig config) {
         return switch (config.getType()) {
             case MYSQL -> String.format("jdbc:mysql://%s:%d/%s", 
                 config.getHost(), config.getPort(), config.getDatabaseName());
@@ -68,4 +300,22 @@ public class DynamicDataSourceConfig {
                 config.getHost(), config.getPort(), config.getDatabaseName());
         };
     }
+
+    private static final class TargetPool {
+        private final HikariDataSource dataSource;
+        private final String fingerprint;
+        private final int maxSize;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        TargetPool(HikariDataSource dataSource, String fingerprint, int maxSize) {
+            this.dataSource = dataSource;
+            this.fingerprint = fingerprint;
+            this.maxSize = maxSize;
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+    }
 }
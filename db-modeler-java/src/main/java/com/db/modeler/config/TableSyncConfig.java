@@ -0,0 +1,31 @@
+package com.db.modeler.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class TableSyncConfig {
+
+    @Value("${app.sync.pool-size:8}")
+    private int poolSize;
+
+    @Value("${app.sync.queue-capacity:10000}")
+    private int queueCapacity;
+
+    /**
+     * 表同步专用线程池，与请求线程隔离
+     */
+    @Bean(name = "tableSyncExecutor")
+    public ThreadPoolTaskExecutor tableSyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("table-sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
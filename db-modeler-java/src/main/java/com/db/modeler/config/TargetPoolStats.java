@@ -0,0 +1,51 @@
+package com.db.modeler.config;
+
+/**
+ * 目标数据库连接池某一时刻的使用情况
+ */
+public class TargetPoolStats {
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int totalConnections;
+    private final int maxConnections;
+    private final int threadsAwaitingConnection;
+
+    public TargetPoolStats(int activeConnections, int idleConnections, int totalConnections, int maxConnections,
+                           int threadsAwaitingConnection) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.totalConnections = totalConnections;
+        this.maxConnections = maxConnections;
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+
+    /**
+     * 活动连接占最大连接数的比例，有线程在等待连接时为 1
+     */
+    public double getSaturation() {
+        if (threadsAwaitingConnection > 0 || maxConnections == 0) {
+            return 1.0;
+        }
+        return (double) activeConnections / maxConnections;
+    }
+}
@@ -1,5 +1,6 @@
 package com.db.modeler.controller;
 
+import com.db.modeler.dto.DataMappingRunResult;
 import com.db.modeler.entity.DataMapping;
 import com.db.modeler.service.DataMappingService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +41,12 @@ public class DataMappingController {
         return ResponseEntity.ok(updatedDataMapping);
     }
 
+    @PostMapping("/{id}/execute")
+    public ResponseEntity<DataMappingRunResult> executeDataMapping(@PathVariable UUID id) {
+        DataMappingRunResult result = dataMappingService.executeDataMapping(id);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDataMapping(@PathVariable UUID id) {
         dataMappingService.deleteDataMapping(id);
@@ -1,7 +1,13 @@
 package com.db.modeler.controller;
 
+import com.db.modeler.dto.ConnectionProbeResult;
+import com.db.modeler.dto.DriftCheckResult;
+import com.db.modeler.dto.TargetHealthStatus;
 import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.entity.SchemaDriftReport;
 import com.db.modeler.service.DatabaseConfigService;
+import com.db.modeler.service.connection.TargetHealthMonitor;
+import com.db.modeler.service.drift.SchemaDriftDetector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +23,12 @@ public class DatabaseConfigController {
     @Autowired
     private DatabaseConfigService databaseConfigService;
 
+    @Autowired
+    private TargetHealthMonitor targetHealthMonitor;
+
+    @Autowired
+    private SchemaDriftDetector schemaDriftDetector;
+
     @GetMapping
     public ResponseEntity<List<DatabaseConfig>> getDatabaseConfigs(@PathVariable UUID projectId) {
         List<DatabaseConfig> configs = databaseConfigService.getDatabaseConfigsByProjectId(projectId);
@@ -65,4 +77,40 @@ public class DatabaseConfigController {
         boolean success = databaseConfigService.testDatabaseConnection(config);
         return ResponseEntity.ok(success);
     }
+
+    @PostMapping("/test-connections")
+    public ResponseEntity<List<ConnectionProbeResult>> testProjectConnections(
+            @PathVariable UUID projectId,
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        List<ConnectionProbeResult> results = databaseConfigService.testProjectConnections(projectId, refresh);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/health")
+    public ResponseEntity<List<TargetHealthStatus>> getProjectHealth(@PathVariable UUID projectId) {
+        return ResponseEntity.ok(targetHealthMonitor.getProjectStatus(projectId));
+    }
+
+    @GetMapping("/{id}/health")
+    public ResponseEntity<TargetHealthStatus> getHealth(@PathVariable UUID projectId, @PathVariable UUID id) {
+        TargetHealthStatus status = targetHealthMonitor.getStatus(id);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/drift")
+    public ResponseEntity<List<SchemaDriftReport>> getDriftReports(@PathVariable UUID projectId) {
+        return ResponseEntity.ok(schemaDriftDetector.getProjectReports(projectId));
+    }
+
+    @PostMapping("/{id}/drift-check")
+    public ResponseEntity<DriftCheckResult> checkDrift(@PathVariable UUID projectId, @PathVariable UUID id) {
+        DatabaseConfig config = databaseConfigService.getDatabaseConfig(id);
+        if (!projectId.equals(config.getProjectId())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(schemaDriftDetector.check(config));
+    }
 }
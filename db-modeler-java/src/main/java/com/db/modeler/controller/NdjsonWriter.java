@@ -0,0 +1,37 @@
+package com.db.modeler.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 流式接口（application/x-ndjson）的逐行输出
+ *
+ * 回调可能来自多个工作线程，同一输出流上的写入按行加锁，一行写完立即 flush。
+ */
+@Component
+public class NdjsonWriter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 写入一行 JSON；写入失败（如客户端断开）时抛出 UncheckedIOException
+     */
+    public void writeLine(OutputStream outputStream, Object value) {
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(value);
+            synchronized (outputStream) {
+                outputStream.write(line);
+                outputStream.write('\n');
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
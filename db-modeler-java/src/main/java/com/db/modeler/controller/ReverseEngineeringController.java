@@ -1,11 +1,14 @@
 package com.db.modeler.controller;
 
+import com.db.modeler.dto.ExtractedSchema;
+import com.db.modeler.dto.SchemaImportProgress;
 import com.db.modeler.service.ReverseEngineeringService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/reverse-engineering")
@@ -14,9 +17,34 @@ public class ReverseEngineeringController {
     @Autowired
     private ReverseEngineeringService reverseEngineeringService;
 
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
     @GetMapping("/extract-schema/{connectionId}")
-    public ResponseEntity<List<String>> extractDatabaseSchema(@PathVariable String connectionId, @RequestParam String projectId) {
-        List<String> schema = reverseEngineeringService.extractDatabaseSchema(connectionId, projectId);
+    public ResponseEntity<ExtractedSchema> extractDatabaseSchema(@PathVariable String connectionId, @RequestParam String projectId) {
+        ExtractedSchema schema = reverseEngineeringService.extractDatabaseSchema(connectionId, projectId);
         return ResponseEntity.ok(schema);
     }
+
+    @PostMapping("/import-schema/{connectionId}")
+    public ResponseEntity<SchemaImportProgress> importDatabaseSchema(@PathVariable String connectionId, @RequestParam String projectId,
+                                                                     @RequestParam(defaultValue = "false") boolean incremental) {
+        SchemaImportProgress result = reverseEngineeringService.importDatabaseSchema(connectionId, projectId,
+            incremental, progress -> { });
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import-schema/{connectionId}/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importDatabaseSchemaStream(@PathVariable String connectionId,
+                                                                            @RequestParam String projectId,
+                                                                            @RequestParam(defaultValue = "false") boolean incremental) {
+        StreamingResponseBody body = outputStream -> {
+            SchemaImportProgress result = reverseEngineeringService.importDatabaseSchema(connectionId, projectId,
+                incremental, progress -> ndjsonWriter.writeLine(outputStream, progress));
+            ndjsonWriter.writeLine(outputStream, result);
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
 }
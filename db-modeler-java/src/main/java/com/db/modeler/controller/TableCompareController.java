@@ -1,9 +1,13 @@
 package com.db.modeler.controller;
 
+import com.db.modeler.dto.SchemaDiff;
+import com.db.modeler.dto.SchemaMatrix;
 import com.db.modeler.service.TableCompareService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,9 +18,27 @@ public class TableCompareController {
     @Autowired
     private TableCompareService tableCompareService;
 
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
     @GetMapping("/compare-schemas/{sourceId}/{targetId}")
-    public ResponseEntity<List<String>> compareTableSchemas(@PathVariable String sourceId, @PathVariable String targetId) {
-        List<String> differences = tableCompareService.compareTableSchemas(sourceId, targetId);
-        return ResponseEntity.ok(differences);
+    public ResponseEntity<SchemaDiff> compareTableSchemas(@PathVariable String sourceId, @PathVariable String targetId) {
+        SchemaDiff diff = tableCompareService.compareTableSchemas(sourceId, targetId);
+        return ResponseEntity.ok(diff);
+    }
+
+    @GetMapping("/compare-environments")
+    public ResponseEntity<SchemaMatrix> compareEnvironments(@RequestParam List<String> ids) {
+        SchemaMatrix matrix = tableCompareService.compareEnvironments(ids, event -> { });
+        return ResponseEntity.ok(matrix);
+    }
+
+    @GetMapping(value = "/compare-environments/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> compareEnvironmentsStream(@RequestParam List<String> ids) {
+        StreamingResponseBody body = outputStream ->
+            tableCompareService.compareEnvironments(ids, event -> ndjsonWriter.writeLine(outputStream, event));
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
     }
 }
@@ -1,8 +1,11 @@
 package com.db.modeler.controller;
 
+import com.db.modeler.dto.ScriptExecutionResult;
+import com.db.modeler.dto.TableSyncResult;
 import com.db.modeler.entity.TableDesign;
 import com.db.modeler.service.TableDesignService;
 import com.db.modeler.common.ApiResponse;
+import com.db.modeler.exception.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +15,14 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/table-designs")
@@ -29,6 +34,9 @@ public class TableDesignController {
     @Autowired
     private TableDesignService tableDesignService;
 
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
     @PostMapping
     public ApiResponse<TableDesign> createTableDesign(@RequestBody TableDesign tableDesign) {
         logger.info("Received request to create table design: {}", tableDesign);
@@ -120,23 +128,37 @@ public class TableDesignController {
     }
 
     @PostMapping("/sync-all")
-    public ApiResponse<List<TableDesign>> syncAllTables() {
+    public ApiResponse<List<TableSyncResult>> syncAllTables() {
         logger.info("Received request to sync all table designs to database");
         try {
-            List<TableDesign> syncedTables = tableDesignService.syncAllTables();
-            logger.info("Successfully synced all table designs to database");
-            return ApiResponse.success(syncedTables);
+            List<TableSyncResult> results = tableDesignService.syncAllTables();
+            logger.info("Finished syncing {} table designs to database", results.size());
+            return ApiResponse.success(results);
         } catch (Exception e) {
             logger.error("Error syncing all table designs to database", e);
             return ApiResponse.error(e.getMessage());
         }
     }
 
+    @PostMapping(value = "/sync-all/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> syncAllTablesStream() {
+        logger.info("Received request to sync all table designs to database (streaming)");
+        StreamingResponseBody body = outputStream -> {
+            List<TableSyncResult> results = tableDesignService.syncAllTables(
+                result -> ndjsonWriter.writeLine(outputStream, result));
+            logger.info("Finished streaming sync results for {} table designs", results.size());
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
     @GetMapping("/{id}/preview-ddl")
-    public ApiResponse<Map<String, String>> previewDDL(@PathVariable UUID id) {
+    public ApiResponse<Map<String, String>> previewDDL(@PathVariable UUID id,
+                                                       @RequestParam(defaultValue = "false") boolean live) {
         logger.info("Received request to preview DDL for table design by ID: {}", id);
         try {
-            Map<String, String> ddl = tableDesignService.previewDDL(id);
+            Map<String, String> ddl = tableDesignService.previewDDL(id, live);
             logger.info("Successfully previewed DDL for table design with ID: {}", id);
             return ApiResponse.success(ddl);
         } catch (Exception e) {
@@ -146,10 +168,10 @@ public class TableDesignController {
     }
 
     @GetMapping("/preview-all-ddl")
-    public ApiResponse<List<Map<String, String>>> previewAllDDL() {
+    public ApiResponse<List<Map<String, String>>> previewAllDDL(@RequestParam(defaultValue = "false") boolean live) {
         logger.info("Received request to preview all DDLs");
         try {
-            List<Map<String, String>> ddlList = tableDesignService.previewAllDDL();
+            List<Map<String, String>> ddlList = tableDesignService.previewAllDDL(live);
             logger.info("Successfully previewed all DDLs");
             return ApiResponse.success(ddlList);
         } catch (Exception e) {
@@ -173,22 +195,46 @@ public class TableDesignController {
     }
 
     @PostMapping("/export")
-    public ResponseEntity<byte[]> batchExportTableSql(@RequestBody List<UUID> tableIds) {
-        logger.info("Received request to export DDL for tables: {}", tableIds);
+    public ResponseEntity<StreamingResponseBody> batchExportTableSql(@RequestBody List<UUID> tableIds,
+                                                                     @RequestParam(defaultValue = "false") boolean gzip) {
+        logger.info("Received request to export DDL for {} tables (gzip={})", tableIds == null ? 0 : tableIds.size(), gzip);
+        if (tableIds == null || tableIds.isEmpty()) {
+            throw new ValidationException("表ID列表不能为空");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        String filename = "table_ddl_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+            + (gzip ? ".sql.gz" : ".sql");
+        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(filename).build());
+
+        // 边生成边写出，不在内存中拼接整个脚本
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+                tableDesignService.exportTableSql(tableIds, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                tableDesignService.exportTableSql(tableIds, outputStream);
+            }
+            logger.info("Successfully exported DDL for {} tables", tableIds.size());
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/execute-script", consumes = {MediaType.TEXT_PLAIN_VALUE, "application/sql"})
+    public ApiResponse<ScriptExecutionResult> executeSqlScript(@RequestParam UUID projectId,
+                                                               @RequestBody String script) {
+        logger.info("Received request to execute SQL script ({} chars) for project: {}", script.length(), projectId);
         try {
-            byte[] content = tableDesignService.batchExportTableSql(tableIds);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDisposition(ContentDisposition.builder("attachment")
-                .filename("table_ddl_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")) + ".sql")
-                .build());
-            
-            logger.info("Successfully exported DDL for tables: {}", tableIds);
-            return new ResponseEntity<>(content, headers, HttpStatus.OK);
+            ScriptExecutionResult result = tableDesignService.executeSqlScript(projectId, script);
+            if (!result.isSuccess()) {
+                logger.warn("SQL script for project {} failed: {}", projectId, result.getError());
+            }
+            return ApiResponse.success(result);
         } catch (Exception e) {
-            logger.error("Error exporting DDL for tables: {}", tableIds, e);
-            throw e;
+            logger.error("Error executing SQL script for project: {}", projectId, e);
+            return ApiResponse.error(e.getMessage());
         }
     }
 }
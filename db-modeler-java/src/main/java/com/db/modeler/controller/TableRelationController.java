@@ -58,9 +58,10 @@ public class TableRelationController {
             description = "获取指定项目中的所有表关系")
     @GetMapping("/project/{projectId}")
     public ResponseEntity<List<TableRelation>> getTableRelationsByProject(
-            @Parameter(description = "项目ID") @PathVariable UUID projectId) {
+            @Parameter(description = "项目ID") @PathVariable UUID projectId,
+            @Parameter(description = "是否加载列映射") @RequestParam(defaultValue = "true") boolean includeColumnMappings) {
         logger.info("Getting all table relations for project: {}", projectId);
-        return ResponseEntity.ok(tableRelationService.getTableRelationsByProjectId(projectId));
+        return ResponseEntity.ok(tableRelationService.getTableRelationsByProjectId(projectId, includeColumnMappings));
     }
 
     @Operation(summary = "获取表的所有关系",
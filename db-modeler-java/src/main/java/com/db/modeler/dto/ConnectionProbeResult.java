@@ -0,0 +1,121 @@
+package com.db.modeler.dto;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * 一次连接探测的结果
+ */
+public class ConnectionProbeResult {
+    private UUID configId;
+    private String name;
+    private boolean success;
+    private long connectMs;
+    private long roundTripMs;
+    private long latencyMs;
+    private String error;
+    private Date checkedAt;
+    private boolean cached;
+
+    // Getters and Setters
+    public UUID getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(UUID configId) {
+        this.configId = configId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    /**
+     * 建立连接的耗时
+     */
+    public long getConnectMs() {
+        return connectMs;
+    }
+
+    public void setConnectMs(long connectMs) {
+        this.connectMs = connectMs;
+    }
+
+    /**
+     * 执行验证查询的往返耗时
+     */
+    public long getRoundTripMs() {
+        return roundTripMs;
+    }
+
+    public void setRoundTripMs(long roundTripMs) {
+        this.roundTripMs = roundTripMs;
+    }
+
+    /**
+     * 探测总耗时
+     */
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Date getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(Date checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+
+    /**
+     * 是否为缓存中的结果
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
+    /**
+     * 复制一份结果，用于返回缓存时标记 cached 而不修改缓存中的对象
+     */
+    public ConnectionProbeResult copy() {
+        ConnectionProbeResult copy = new ConnectionProbeResult();
+        copy.setConfigId(configId);
+        copy.setName(name);
+        copy.setSuccess(success);
+        copy.setConnectMs(connectMs);
+        copy.setRoundTripMs(roundTripMs);
+        copy.setLatencyMs(latencyMs);
+        copy.setError(error);
+        copy.setCheckedAt(checkedAt);
+        copy.setCached(cached);
+        return copy;
+    }
+}
@@ -0,0 +1,125 @@
+package com.db.modeler.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 一次数据映射执行的结果
+ */
+public class DataMappingRunResult {
+    private UUID mappingId;
+    private long rowsRead;
+    private long rowsWritten;
+    private int batches;
+    private int fetchSize;
+    private int rowsPerStatement;
+    private long durationMs;
+    private double rowsPerSecond;
+    // 执行线程在本次执行中分配的内存，JVM 不支持统计时为 -1
+    private long allocatedBytes;
+    // 执行结束时的堆内存占用
+    private long heapUsedBytes;
+    private String error;
+    private LocalDateTime startedAt;
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    // Getters and Setters
+    public UUID getMappingId() {
+        return mappingId;
+    }
+
+    public void setMappingId(UUID mappingId) {
+        this.mappingId = mappingId;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getRowsPerStatement() {
+        return rowsPerStatement;
+    }
+
+    public void setRowsPerStatement(int rowsPerStatement) {
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    public void setHeapUsedBytes(long heapUsedBytes) {
+        this.heapUsedBytes = heapUsedBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+}
@@ -0,0 +1,105 @@
+package com.db.modeler.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 一次结构漂移检查的结果
+ */
+public class DriftCheckResult {
+    private UUID configId;
+    private UUID projectId;
+    private int checkedTables;
+    private int driftedTables;
+    private int missingTables;
+    private long queries;
+    private long durationMs;
+    private String error;
+    private LocalDateTime checkedAt;
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    // Getters and Setters
+    public UUID getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(UUID configId) {
+        this.configId = configId;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    /**
+     * 检查的已同步表数
+     */
+    public int getCheckedTables() {
+        return checkedTables;
+    }
+
+    public void setCheckedTables(int checkedTables) {
+        this.checkedTables = checkedTables;
+    }
+
+    /**
+     * 结构与设计不同的表数，不含目标中缺失的表
+     */
+    public int getDriftedTables() {
+        return driftedTables;
+    }
+
+    public void setDriftedTables(int driftedTables) {
+        this.driftedTables = driftedTables;
+    }
+
+    public int getMissingTables() {
+        return missingTables;
+    }
+
+    public void setMissingTables(int missingTables) {
+        this.missingTables = missingTables;
+    }
+
+    /**
+     * 对目标数据库发出的元数据查询数
+     */
+    public long getQueries() {
+        return queries;
+    }
+
+    public void setQueries(long queries) {
+        this.queries = queries;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(LocalDateTime checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.db.modeler.dto;
+
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.entity.TableRelation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 从目标数据库提取出的表结构
+ */
+public class ExtractedSchema {
+    private String schema;
+    private long durationMs;
+    private List<TableDesign> tables = new ArrayList<>();
+    private List<TableRelation> relations = new ArrayList<>();
+
+    // Getters and Setters
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    public int getRelationCount() {
+        return relations.size();
+    }
+
+    public List<TableDesign> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableDesign> tables) {
+        this.tables = tables;
+    }
+
+    public List<TableRelation> getRelations() {
+        return relations;
+    }
+
+    public void setRelations(List<TableRelation> relations) {
+        this.relations = relations;
+    }
+}
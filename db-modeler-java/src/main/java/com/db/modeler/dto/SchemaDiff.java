@@ -0,0 +1,215 @@
+package com.db.modeler.dto;
+
+import com.db.modeler.entity.ColumnDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 两个表结构（设计或实际数据库）之间的差异，方向为从源到目标
+ */
+public class SchemaDiff {
+
+    /**
+     * ADDED：只在目标中存在；REMOVED：只在源中存在；MODIFIED：两边都存在但不同
+     */
+    public enum ChangeType {
+        ADDED,
+        REMOVED,
+        MODIFIED
+    }
+
+    private String sourceHash;
+    private String targetHash;
+    private boolean identical;
+    private int sourceTableCount;
+    private int targetTableCount;
+    private long durationMs;
+    private List<TableDiff> tables = new ArrayList<>();
+
+    /**
+     * 一张表的差异；新增和删除的表不展开列
+     */
+    public static class TableDiff {
+        private String tableCode;
+        private ChangeType type;
+        private boolean commentChanged;
+        private String sourceComment;
+        private String targetComment;
+        private boolean columnOrderChanged;
+        private List<ColumnDiff> columns = new ArrayList<>();
+
+        public String getTableCode() {
+            return tableCode;
+        }
+
+        public void setTableCode(String tableCode) {
+            this.tableCode = tableCode;
+        }
+
+        public ChangeType getType() {
+            return type;
+        }
+
+        public void setType(ChangeType type) {
+            this.type = type;
+        }
+
+        public boolean isCommentChanged() {
+            return commentChanged;
+        }
+
+        public void setCommentChanged(boolean commentChanged) {
+            this.commentChanged = commentChanged;
+        }
+
+        public String getSourceComment() {
+            return sourceComment;
+        }
+
+        public void setSourceComment(String sourceComment) {
+            this.sourceComment = sourceComment;
+        }
+
+        public String getTargetComment() {
+            return targetComment;
+        }
+
+        public void setTargetComment(String targetComment) {
+            this.targetComment = targetComment;
+        }
+
+        /**
+         * 两边都有的列相对顺序不同
+         */
+        public boolean isColumnOrderChanged() {
+            return columnOrderChanged;
+        }
+
+        public void setColumnOrderChanged(boolean columnOrderChanged) {
+            this.columnOrderChanged = columnOrderChanged;
+        }
+
+        public List<ColumnDiff> getColumns() {
+            return columns;
+        }
+
+        public void setColumns(List<ColumnDiff> columns) {
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * 一列的差异
+     */
+    public static class ColumnDiff {
+        private String columnCode;
+        private ChangeType type;
+        private List<String> changedAttributes = new ArrayList<>();
+        private ColumnDefinition source;
+        private ColumnDefinition target;
+
+        public String getColumnCode() {
+            return columnCode;
+        }
+
+        public void setColumnCode(String columnCode) {
+            this.columnCode = columnCode;
+        }
+
+        public ChangeType getType() {
+            return type;
+        }
+
+        public void setType(ChangeType type) {
+            this.type = type;
+        }
+
+        /**
+         * 修改的属性名，如 dataType、nullable、indexes；只在 MODIFIED 时有值
+         */
+        public List<String> getChangedAttributes() {
+            return changedAttributes;
+        }
+
+        public void setChangedAttributes(List<String> changedAttributes) {
+            this.changedAttributes = changedAttributes;
+        }
+
+        public ColumnDefinition getSource() {
+            return source;
+        }
+
+        public void setSource(ColumnDefinition source) {
+            this.source = source;
+        }
+
+        public ColumnDefinition getTarget() {
+            return target;
+        }
+
+        public void setTarget(ColumnDefinition target) {
+            this.target = target;
+        }
+    }
+
+    // Getters and Setters
+    public String getSourceHash() {
+        return sourceHash;
+    }
+
+    public void setSourceHash(String sourceHash) {
+        this.sourceHash = sourceHash;
+    }
+
+    public String getTargetHash() {
+        return targetHash;
+    }
+
+    public void setTargetHash(String targetHash) {
+        this.targetHash = targetHash;
+    }
+
+    public boolean isIdentical() {
+        return identical;
+    }
+
+    public void setIdentical(boolean identical) {
+        this.identical = identical;
+    }
+
+    public int getSourceTableCount() {
+        return sourceTableCount;
+    }
+
+    public void setSourceTableCount(int sourceTableCount) {
+        this.sourceTableCount = sourceTableCount;
+    }
+
+    public int getTargetTableCount() {
+        return targetTableCount;
+    }
+
+    public void setTargetTableCount(int targetTableCount) {
+        this.targetTableCount = targetTableCount;
+    }
+
+    /**
+     * 构建两边哈希树和比较的总耗时
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<TableDiff> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableDiff> tables) {
+        this.tables = tables;
+    }
+}
@@ -0,0 +1,161 @@
+package com.db.modeler.dto;
+
+/**
+ * 反向工程导入的进度，每提交一批输出一次，导入结束时输出最终结果
+ */
+public class SchemaImportProgress {
+    private String schema;
+    private boolean incremental;
+    private Integer chunkIndex;
+    private int committedChunks;
+    private Integer totalTables;
+    private int insertedTables;
+    private int updatedTables;
+    private int skippedTables;
+    private int unchangedTables;
+    private int droppedTables;
+    private int insertedRelations;
+    private long durationMs;
+    private boolean finished;
+
+    public SchemaImportProgress copy() {
+        SchemaImportProgress copy = new SchemaImportProgress();
+        copy.schema = schema;
+        copy.incremental = incremental;
+        copy.chunkIndex = chunkIndex;
+        copy.committedChunks = committedChunks;
+        copy.totalTables = totalTables;
+        copy.insertedTables = insertedTables;
+        copy.updatedTables = updatedTables;
+        copy.skippedTables = skippedTables;
+        copy.unchangedTables = unchangedTables;
+        copy.droppedTables = droppedTables;
+        copy.insertedRelations = insertedRelations;
+        copy.durationMs = durationMs;
+        copy.finished = finished;
+        return copy;
+    }
+
+    // Getters and Setters
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * 刚提交的批次序号，最终结果中为 null
+     */
+    public Integer getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(Integer chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public void setCommittedChunks(int committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+
+    /**
+     * 库中的表总数，全量导入在提取结束前为 null
+     */
+    public Integer getTotalTables() {
+        return totalTables;
+    }
+
+    public void setTotalTables(Integer totalTables) {
+        this.totalTables = totalTables;
+    }
+
+    public int getInsertedTables() {
+        return insertedTables;
+    }
+
+    public void setInsertedTables(int insertedTables) {
+        this.insertedTables = insertedTables;
+    }
+
+    /**
+     * 增量导入时重新读取并更新的已有表数
+     */
+    public int getUpdatedTables() {
+        return updatedTables;
+    }
+
+    public void setUpdatedTables(int updatedTables) {
+        this.updatedTables = updatedTables;
+    }
+
+    /**
+     * 全量导入时项目中已存在同名表而跳过的表数
+     */
+    public int getSkippedTables() {
+        return skippedTables;
+    }
+
+    public void setSkippedTables(int skippedTables) {
+        this.skippedTables = skippedTables;
+    }
+
+    /**
+     * 增量导入时指纹未变化、没有重新读取的表数
+     */
+    public int getUnchangedTables() {
+        return unchangedTables;
+    }
+
+    public void setUnchangedTables(int unchangedTables) {
+        this.unchangedTables = unchangedTables;
+    }
+
+    /**
+     * 增量导入时已不存在而删除的表数
+     */
+    public int getDroppedTables() {
+        return droppedTables;
+    }
+
+    public void setDroppedTables(int droppedTables) {
+        this.droppedTables = droppedTables;
+    }
+
+    public int getInsertedRelations() {
+        return insertedRelations;
+    }
+
+    public void setInsertedRelations(int insertedRelations) {
+        this.insertedRelations = insertedRelations;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+}
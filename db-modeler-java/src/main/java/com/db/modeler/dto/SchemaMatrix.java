@@ -0,0 +1,148 @@
+package com.db.modeler.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 多个环境的表结构按表名对齐后的比较矩阵
+ *
+ * 每行是一张在各环境间不一致的表，variants 按环境顺序给出该表的结构编号：
+ * 编号相同表示结构相同，null 表示该环境中没有这张表。提取失败的环境不参与对齐，编号为 null。
+ */
+public class SchemaMatrix {
+
+    private List<Environment> environments = new ArrayList<>();
+    private int totalTables;
+    private int identicalTables;
+    private long durationMs;
+    private List<TableRow> tables = new ArrayList<>();
+
+    /**
+     * 一个参与比较的环境（数据库配置或项目中的表设计）
+     */
+    public static class Environment {
+        private String id;
+        private String name;
+        private int tableCount;
+        private String hash;
+        private long durationMs;
+        private String error;
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getTableCount() {
+            return tableCount;
+        }
+
+        public void setTableCount(int tableCount) {
+            this.tableCount = tableCount;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public void setDurationMs(long durationMs) {
+            this.durationMs = durationMs;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * 一张不一致的表在各环境中的结构编号
+     */
+    public static class TableRow {
+        private String tableCode;
+        private List<Integer> variants = new ArrayList<>();
+
+        public String getTableCode() {
+            return tableCode;
+        }
+
+        public void setTableCode(String tableCode) {
+            this.tableCode = tableCode;
+        }
+
+        public List<Integer> getVariants() {
+            return variants;
+        }
+
+        public void setVariants(List<Integer> variants) {
+            this.variants = variants;
+        }
+    }
+
+    // Getters and Setters
+    public List<Environment> getEnvironments() {
+        return environments;
+    }
+
+    public void setEnvironments(List<Environment> environments) {
+        this.environments = environments;
+    }
+
+    public int getTotalTables() {
+        return totalTables;
+    }
+
+    public void setTotalTables(int totalTables) {
+        this.totalTables = totalTables;
+    }
+
+    public int getIdenticalTables() {
+        return identicalTables;
+    }
+
+    public void setIdenticalTables(int identicalTables) {
+        this.identicalTables = identicalTables;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<TableRow> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableRow> tables) {
+        this.tables = tables;
+    }
+}
@@ -0,0 +1,72 @@
+package com.db.modeler.dto;
+
+/**
+ * 多环境比较的流式事件
+ *
+ * ENVIRONMENT：一个环境提取完成或失败；DIFF：两个都已提取完成的环境之间的差异，
+ * 源为请求中靠前的环境；MATRIX：全部环境结束后的比较矩阵，总是最后一个事件。
+ */
+public class SchemaMatrixEvent {
+
+    public enum Type {
+        ENVIRONMENT,
+        DIFF,
+        MATRIX
+    }
+
+    private Type type;
+    private SchemaMatrix.Environment environment;
+    private String sourceId;
+    private String targetId;
+    private SchemaDiff diff;
+    private SchemaMatrix matrix;
+
+    // Getters and Setters
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public SchemaMatrix.Environment getEnvironment() {
+        return environment;
+    }
+
+    public void setEnvironment(SchemaMatrix.Environment environment) {
+        this.environment = environment;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(String sourceId) {
+        this.sourceId = sourceId;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public SchemaDiff getDiff() {
+        return diff;
+    }
+
+    public void setDiff(SchemaDiff diff) {
+        this.diff = diff;
+    }
+
+    public SchemaMatrix getMatrix() {
+        return matrix;
+    }
+
+    public void setMatrix(SchemaMatrix matrix) {
+        this.matrix = matrix;
+    }
+}
@@ -0,0 +1,116 @@
+package com.db.modeler.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL 脚本的执行结果
+ */
+public class ScriptExecutionResult {
+    private int totalStatements;
+    private int executedStatements;
+    private long durationMs;
+    private String error;
+    private List<StatementResult> statements = new ArrayList<>();
+
+    /**
+     * 单条语句的执行结果
+     */
+    public static class StatementResult {
+        private int index;
+        private String sql;
+        private boolean success;
+        private long durationMs;
+        private String error;
+
+        /**
+         * 语句在脚本中的序号，从 0 开始
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public void setSql(String sql) {
+            this.sql = sql;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public void setDurationMs(long durationMs) {
+            this.durationMs = durationMs;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+
+    public int getTotalStatements() {
+        return totalStatements;
+    }
+
+    public void setTotalStatements(int totalStatements) {
+        this.totalStatements = totalStatements;
+    }
+
+    public int getExecutedStatements() {
+        return executedStatements;
+    }
+
+    public void setExecutedStatements(int executedStatements) {
+        this.executedStatements = executedStatements;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    /**
+     * 第一条失败语句的错误信息，全部成功时为 null
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<StatementResult> getStatements() {
+        return statements;
+    }
+
+    public void setStatements(List<StatementResult> statements) {
+        this.statements = statements;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.db.modeler.dto;
+
+import java.util.UUID;
+
+/**
+ * 单张表的同步结果
+ */
+public class TableSyncResult {
+    private UUID tableId;
+    private String tableCode;
+    private UUID projectId;
+    private String target;
+    private Status status;
+    private String ddlType;
+    private long durationMs;
+    private String error;
+
+    public enum Status {
+        SUCCESS,
+        UNCHANGED,
+        SKIPPED,
+        FAILED
+    }
+
+    // Getters and Setters
+    public UUID getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(UUID tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getTableCode() {
+        return tableCode;
+    }
+
+    public void setTableCode(String tableCode) {
+        this.tableCode = tableCode;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getDdlType() {
+        return ddlType;
+    }
+
+    public void setDdlType(String ddlType) {
+        this.ddlType = ddlType;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,179 @@
+package com.db.modeler.dto;
+
+import com.db.modeler.config.TargetPoolStats;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 目标数据库的健康状态
+ */
+public class TargetHealthStatus {
+    private UUID configId;
+    private UUID projectId;
+    private String name;
+    private Status status;
+    private Date lastCheckedAt;
+    private long connectMs;
+    private long roundTripMs;
+    private int consecutiveFailures;
+    private String error;
+    private TargetPoolStats pool;
+    private List<Sample> history = new ArrayList<>();
+
+    public enum Status {
+        UNKNOWN,
+        UP,
+        DEGRADED,
+        DOWN
+    }
+
+    /**
+     * 一次探测的记录
+     */
+    public static class Sample {
+        private Date checkedAt;
+        private boolean success;
+        private long connectMs;
+        private long roundTripMs;
+
+        public Sample() {
+        }
+
+        public Sample(Date checkedAt, boolean success, long connectMs, long roundTripMs) {
+            this.checkedAt = checkedAt;
+            this.success = success;
+            this.connectMs = connectMs;
+            this.roundTripMs = roundTripMs;
+        }
+
+        public Date getCheckedAt() {
+            return checkedAt;
+        }
+
+        public void setCheckedAt(Date checkedAt) {
+            this.checkedAt = checkedAt;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        public long getConnectMs() {
+            return connectMs;
+        }
+
+        public void setConnectMs(long connectMs) {
+            this.connectMs = connectMs;
+        }
+
+        public long getRoundTripMs() {
+            return roundTripMs;
+        }
+
+        public void setRoundTripMs(long roundTripMs) {
+            this.roundTripMs = roundTripMs;
+        }
+    }
+
+    // Getters and Setters
+    public UUID getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(UUID configId) {
+        this.configId = configId;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Date getLastCheckedAt() {
+        return lastCheckedAt;
+    }
+
+    public void setLastCheckedAt(Date lastCheckedAt) {
+        this.lastCheckedAt = lastCheckedAt;
+    }
+
+    public long getConnectMs() {
+        return connectMs;
+    }
+
+    public void setConnectMs(long connectMs) {
+        this.connectMs = connectMs;
+    }
+
+    public long getRoundTripMs() {
+        return roundTripMs;
+    }
+
+    public void setRoundTripMs(long roundTripMs) {
+        this.roundTripMs = roundTripMs;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public void setConsecutiveFailures(int consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * 共享连接池的使用情况，目标当前没有连接池时为 null
+     */
+    public TargetPoolStats getPool() {
+        return pool;
+    }
+
+    public void setPool(TargetPoolStats pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 最近的探测记录，按时间从早到晚排列
+     */
+    public List<Sample> getHistory() {
+        return history;
+    }
+
+    public void setHistory(List<Sample> history) {
+        this.history = history;
+    }
+}
@@ -0,0 +1,80 @@
+package com.db.modeler.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 结构漂移报告：已同步的表设计与目标数据库中实际结构不一致
+ */
+public class SchemaDriftReport {
+
+    public enum DriftType {
+        MODIFIED,   // 实际结构与设计不同
+        MISSING     // 目标数据库中没有这张表
+    }
+
+    private UUID configId;              // 目标数据库配置ID
+    private UUID tableId;               // 表设计ID
+    private UUID projectId;             // 项目ID
+    private String tableCode;           // 表代码
+    private DriftType driftType;        // 漂移类型
+    private String details;             // 表差异（JSON格式），MISSING 时为空
+    private LocalDateTime detectedAt;   // 发现时间
+
+    // Getters and Setters
+    public UUID getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(UUID configId) {
+        this.configId = configId;
+    }
+
+    public UUID getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(UUID tableId) {
+        this.tableId = tableId;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getTableCode() {
+        return tableCode;
+    }
+
+    public void setTableCode(String tableCode) {
+        this.tableCode = tableCode;
+    }
+
+    public DriftType getDriftType() {
+        return driftType;
+    }
+
+    public void setDriftType(DriftType driftType) {
+        this.driftType = driftType;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public void setDetails(String details) {
+        this.details = details;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public void setDetectedAt(LocalDateTime detectedAt) {
+        this.detectedAt = detectedAt;
+    }
+}
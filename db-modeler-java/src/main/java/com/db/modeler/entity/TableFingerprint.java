@@ -0,0 +1,74 @@
+package com.db.modeler.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 反向工程表指纹：某个数据库配置中的一张表最近一次导入时的结构摘要
+ */
+public class TableFingerprint {
+    private UUID configId;              // 数据库配置ID
+    private String tableCode;           // 表名
+    private UUID tableId;               // 导入后的表设计ID
+    private String fingerprint;         // 表注释、列、索引、外键和创建时间的 SHA-256
+    private LocalDateTime createTime;   // information_schema.TABLES.CREATE_TIME
+    private LocalDateTime updateTime;   // information_schema.TABLES.UPDATE_TIME
+    private LocalDateTime scannedAt;    // 导入时间
+
+    // Getters and Setters
+    public UUID getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(UUID configId) {
+        this.configId = configId;
+    }
+
+    public String getTableCode() {
+        return tableCode;
+    }
+
+    public void setTableCode(String tableCode) {
+        this.tableCode = tableCode;
+    }
+
+    public UUID getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(UUID tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    public LocalDateTime getScannedAt() {
+        return scannedAt;
+    }
+
+    public void setScannedAt(LocalDateTime scannedAt) {
+        this.scannedAt = scannedAt;
+    }
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,6 +37,9 @@ public class TableRelation {
     @Schema(description = "关系描述")
     private String description;
 
+    @Schema(description = "是否由反向工程从外键生成，重新导入时这些关系会被重新生成")
+    private boolean imported;
+
     @Schema(description = "列映射")
     private List<ColumnMapping> columnMappings;
 
@@ -58,6 +62,13 @@ public class TableRelation {
 
         @Schema(description = "映射类型")
         private String mappingType;
+
+        /**
+         * 表设计中的列没有独立的ID，按表ID和列代码生成，同一列每次得到相同的ID
+         */
+        public static UUID columnId(UUID tableId, String columnCode) {
+            return UUID.nameUUIDFromBytes((tableId + ":" + columnCode).getBytes(StandardCharsets.UTF_8));
+        }
     }
 
     public enum RelationType {
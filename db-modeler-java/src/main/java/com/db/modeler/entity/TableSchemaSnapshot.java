@@ -0,0 +1,56 @@
+package com.db.modeler.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 表结构快照：某张表最近一次成功同步到某个目标数据源时的列定义
+ */
+public class TableSchemaSnapshot {
+    private UUID tableId;
+    private String target;            // 目标数据源：数据库配置ID或default
+    private String tableCode;         // 同步时的表代码
+    private String columns;           // 同步时的列定义（JSON格式）
+    private LocalDateTime syncedAt;   // 同步时间
+
+    // Getters and Setters
+    public UUID getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(UUID tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public String getTableCode() {
+        return tableCode;
+    }
+
+    public void setTableCode(String tableCode) {
+        this.tableCode = tableCode;
+    }
+
+    public String getColumns() {
+        return columns;
+    }
+
+    public void setColumns(String columns) {
+        this.columns = columns;
+    }
+
+    public LocalDateTime getSyncedAt() {
+        return syncedAt;
+    }
+
+    public void setSyncedAt(LocalDateTime syncedAt) {
+        this.syncedAt = syncedAt;
+    }
+}
@@ -2,6 +2,8 @@ package com.db.modeler.mapper;
 
 import com.db.modeler.entity.DataMapping;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,5 +17,7 @@ public interface DataMappingMapper {
     
     void updateDataMapping(DataMapping dataMapping);
     
+    void recordExecution(@Param("id") UUID id, @Param("success") boolean success, @Param("executedAt") Date executedAt);
+    
     void deleteDataMapping(UUID id);
 }
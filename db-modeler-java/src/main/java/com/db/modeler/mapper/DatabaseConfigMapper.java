@@ -28,6 +28,9 @@ public interface DatabaseConfigMapper {
     @Select("SELECT * FROM database_configs WHERE project_id = #{projectId} AND status != 'DELETED'")
     List<DatabaseConfig> selectByProjectId(UUID projectId);
 
+    @Select("SELECT * FROM database_configs WHERE status = 'ACTIVE'")
+    List<DatabaseConfig> selectActive();
+
     @Update("""
         UPDATE database_configs SET
             name = #{name},
@@ -0,0 +1,16 @@
+package com.db.modeler.repository;
+
+import com.db.modeler.entity.SchemaDriftReport;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Mapper
+public interface SchemaDriftReportRepository {
+    List<SchemaDriftReport> findByProjectId(@Param("projectId") UUID projectId);
+    int batchUpsert(@Param("reports") List<SchemaDriftReport> reports);
+    int deleteByConfigIdAndTableIds(@Param("configId") UUID configId, @Param("tableIds") Collection<UUID> tableIds);
+}
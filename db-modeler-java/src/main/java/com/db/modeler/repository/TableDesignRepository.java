@@ -4,6 +4,7 @@ import com.db.modeler.entity.TableDesign;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,4 +17,14 @@ public interface TableDesignRepository {
     void deleteById(UUID id);
     TableDesign findByProjectIdAndCode(@Param("projectId") UUID projectId, @Param("code") String code);
     List<TableDesign> findByProjectId(@Param("projectId") UUID projectId);
+    List<TableDesign> findUnsynced();
+    List<TableDesign> findSyncedByProjectId(@Param("projectId") UUID projectId);
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+    List<TableDesign> findByIds(@Param("ids") Collection<UUID> ids);
+    List<TableDesign> findHeadersByIds(@Param("ids") Collection<UUID> ids);
+    List<TableDesign> findHeadersByProjectId(@Param("projectId") UUID projectId);
+    int batchInsert(@Param("tables") List<TableDesign> tables);
+    void updateFromSchema(TableDesign tableDesign);
+    void updateSyncStatus(@Param("id") UUID id, @Param("synced") boolean synced);
+    int updateSyncStatusByIds(@Param("ids") Collection<UUID> ids, @Param("synced") boolean synced);
 }
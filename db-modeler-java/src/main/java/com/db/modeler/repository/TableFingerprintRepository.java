@@ -0,0 +1,14 @@
+package com.db.modeler.repository;
+
+import com.db.modeler.entity.TableFingerprint;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+@Mapper
+public interface TableFingerprintRepository {
+    List<TableFingerprint> findByConfigId(@Param("configId") UUID configId);
+    int batchUpsert(@Param("fingerprints") List<TableFingerprint> fingerprints);
+}
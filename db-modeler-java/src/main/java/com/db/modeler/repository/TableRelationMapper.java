@@ -3,6 +3,7 @@ package com.db.modeler.repository;
 import com.db.modeler.entity.TableRelation;
 import org.apache.ibatis.annotations.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,11 +15,21 @@ public interface TableRelationMapper {
      */
     int insert(TableRelation tableRelation);
 
+    /**
+     * 批量插入表关系（多行 INSERT）
+     */
+    int batchInsert(@Param("relations") List<TableRelation> relations);
+
     /**
      * 插入列映射关系
      */
     int insertColumnMapping(@Param("relationId") UUID relationId, @Param("mapping") TableRelation.ColumnMapping mapping);
 
+    /**
+     * 批量插入多个关系的列映射（多行 INSERT），每个关系至少包含一个列映射
+     */
+    int batchInsertColumnMappings(@Param("relations") List<TableRelation> relations);
+
     /**
      * 更新表关系
      */
@@ -49,6 +60,16 @@ public interface TableRelationMapper {
      */
     List<TableRelation> selectByProjectId(@Param("projectId") UUID projectId);
 
+    /**
+     * 根据项目ID查询表关系，不加载列映射
+     */
+    List<TableRelation> selectByProjectIdWithoutMappings(@Param("projectId") UUID projectId);
+
+    /**
+     * 查询多个项目的关系边（仅包含ID、源表和目标表，不加载列映射）
+     */
+    List<TableRelation> selectEdgesByProjectIds(@Param("projectIds") Collection<UUID> projectIds);
+
     /**
      * 根据源表ID查询表关系
      */
@@ -83,4 +104,9 @@ public interface TableRelationMapper {
      * 删除指定表的所有关系
      */
     int deleteByTableId(@Param("tableId") UUID tableId);
+
+    /**
+     * 删除以指定表为源表、由外键生成的关系
+     */
+    int deleteForeignKeyRelationsBySourceTableIds(@Param("tableIds") Collection<UUID> tableIds);
 }
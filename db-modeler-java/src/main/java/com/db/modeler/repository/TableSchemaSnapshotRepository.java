@@ -0,0 +1,20 @@
+package com.db.modeler.repository;
+
+import com.db.modeler.entity.TableSchemaSnapshot;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Mapper
+public interface TableSchemaSnapshotRepository {
+    TableSchemaSnapshot findByTableIdAndTarget(@Param("tableId") UUID tableId, @Param("target") String target);
+    List<TableSchemaSnapshot> findByTableId(@Param("tableId") UUID tableId);
+    List<TableSchemaSnapshot> findByTargetAndTableIds(@Param("target") String target,
+                                                      @Param("tableIds") Collection<UUID> tableIds);
+    int upsert(TableSchemaSnapshot snapshot);
+    int deleteByTableId(@Param("tableId") UUID tableId);
+    int deleteByTargetAndTableIds(@Param("target") String target, @Param("tableIds") Collection<UUID> tableIds);
+}
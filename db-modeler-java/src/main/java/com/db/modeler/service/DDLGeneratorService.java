@@ -1,6 +1,10 @@
 package com.db.modeler.service;
 
 import com.db.modeler.entity.TableDesign;
+import com.db.modeler.service.ddl.OnlineAlterPlan;
+
+import java.sql.Connection;
+import java.sql.SQLException;
 
 public interface DDLGeneratorService {
     /**
@@ -18,9 +22,25 @@ public interface DDLGeneratorService {
      */
     String generateAlterTableDDL(TableDesign oldTableDesign, TableDesign newTableDesign);
 
+    /**
+     * 在线模式生成修改表的DDL：所有变更合并为一条 ALTER TABLE，并按变更类型附加 ALGORITHM/LOCK；
+     * 无法在线执行时显式使用 ALGORITHM=COPY，并在结果中给出原因
+     * @param oldTableDesign 原表设计
+     * @param newTableDesign 新表设计
+     * @return 在线修改计划
+     */
+    OnlineAlterPlan generateOnlineAlterTableDDL(TableDesign oldTableDesign, TableDesign newTableDesign);
+
     /**
      * 执行DDL语句
      * @param ddl DDL语句
      */
     void executeDDL(String ddl);
+
+    /**
+     * 在指定连接上执行DDL语句，连接由调用方管理，便于同一目标的多条DDL复用一个连接
+     * @param ddl DDL语句
+     * @param connection 目标数据库连接
+     */
+    void executeDDL(String ddl, Connection connection) throws SQLException;
 }
@@ -1,5 +1,6 @@
 package com.db.modeler.service;
 
+import com.db.modeler.dto.DataMappingRunResult;
 import com.db.modeler.entity.DataMapping;
 import java.util.List;
 import java.util.UUID;
@@ -10,4 +11,10 @@ public interface DataMappingService {
     List<DataMapping> getAllDataMappings();
     DataMapping updateDataMapping(DataMapping dataMapping);
     void deleteDataMapping(UUID dataMappingId);
+
+    /**
+     * 立即执行一次数据映射，并累加执行计数
+     * @return 读写行数、吞吐量和内存占用
+     */
+    DataMappingRunResult executeDataMapping(UUID dataMappingId);
 }
@@ -1,5 +1,6 @@
 package com.db.modeler.service;
 
+import com.db.modeler.dto.ConnectionProbeResult;
 import com.db.modeler.entity.DatabaseConfig;
 import java.util.List;
 import java.util.UUID;
@@ -39,4 +40,16 @@ public interface DatabaseConfigService {
      * 测试数据库连接
      */
     boolean testDatabaseConnection(DatabaseConfig config);
+
+    /**
+     * 探测数据库连接，短时间内重复探测同一配置时返回缓存的结果
+     * @param refresh 为 true 时忽略缓存
+     */
+    ConnectionProbeResult probeDatabaseConnection(DatabaseConfig config, boolean refresh);
+
+    /**
+     * 并发探测项目的所有数据库配置
+     * @return 与配置列表顺序一致的探测结果，包含每个目标的延迟
+     */
+    List<ConnectionProbeResult> testProjectConnections(UUID projectId, boolean refresh);
 }
@@ -1,7 +1,25 @@
 package com.db.modeler.service;
 
-import java.util.List;
+import com.db.modeler.dto.ExtractedSchema;
+import com.db.modeler.dto.SchemaImportProgress;
+
+import java.util.function.Consumer;
 
 public interface ReverseEngineeringService {
-    List<String> extractDatabaseSchema(String connectionId, String projectId);
+    /**
+     * 从数据库配置对应的库中提取所有表、列、索引和外键
+     * @param connectionId 数据库配置ID
+     * @param projectId 项目ID，必须与数据库配置所属项目一致
+     * @return 提取出的表设计和表关系，尚未保存
+     */
+    ExtractedSchema extractDatabaseSchema(String connectionId, String projectId);
+
+    /**
+     * 提取表结构并分批保存到项目中，每批单独提交
+     * @param incremental 为 true 时只重新读取与上次导入相比新增或变化的表，并删除已不存在的表
+     * @param listener 每提交一批调用一次
+     * @return 导入结果
+     */
+    SchemaImportProgress importDatabaseSchema(String connectionId, String projectId, boolean incremental,
+                                              Consumer<SchemaImportProgress> listener);
 }
@@ -1,7 +1,26 @@
 package com.db.modeler.service;
 
+import com.db.modeler.dto.SchemaDiff;
+import com.db.modeler.dto.SchemaMatrix;
+import com.db.modeler.dto.SchemaMatrixEvent;
+
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TableCompareService {
-    List<String> compareTableSchemas(String sourceId, String targetId);
+    /**
+     * 比较两个表结构
+     * @param sourceId 项目ID（比较项目中的表设计）或数据库配置ID（比较实际数据库）
+     * @param targetId 同 sourceId
+     * @return 从源到目标的差异
+     */
+    SchemaDiff compareTableSchemas(String sourceId, String targetId);
+
+    /**
+     * 同时比较多个环境的表结构，按表名对齐
+     * @param ids 项目ID或数据库配置ID，至少两个
+     * @param listener 每个环境完成、每对环境比较完成时调用，最后是比较矩阵
+     * @return 比较矩阵
+     */
+    SchemaMatrix compareEnvironments(List<String> ids, Consumer<SchemaMatrixEvent> listener);
 }
@@ -1,27 +1,66 @@
 package com.db.modeler.service;
 
+import com.db.modeler.dto.ScriptExecutionResult;
+import com.db.modeler.dto.TableSyncResult;
 import com.db.modeler.entity.TableDesign;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface TableDesignService {
     TableDesign createTableDesign(TableDesign tableDesign);
     TableDesign getTableDesignById(UUID tableDesignId);
     List<TableDesign> getAllTableDesigns();
     List<TableDesign> getTableDesignsByProjectId(UUID projectId);
+
+    /**
+     * 按ID批量获取表设计，结果按传入顺序返回，不存在的ID被忽略
+     * @param tableDesignIds 表设计ID集合
+     * @return 表设计列表
+     */
+    List<TableDesign> getTableDesignsByIds(Collection<UUID> tableDesignIds);
+
+    /**
+     * 查询给定ID中实际存在的表设计ID，不加载表内容
+     * @param tableDesignIds 表设计ID
+     * @return 存在的表设计ID
+     */
+    Set<UUID> getExistingTableDesignIds(Collection<UUID> tableDesignIds);
+
     TableDesign updateTableDesign(TableDesign tableDesign);
     void deleteTableDesign(UUID tableDesignId);
     
     // 同步相关的方法
     TableDesign syncToDatabase(UUID tableDesignId);
-    List<TableDesign> syncAllTables();
+
+    /**
+     * 并行同步所有未同步的表
+     * @return 每张表的同步结果
+     */
+    List<TableSyncResult> syncAllTables();
+
+    /**
+     * 并行同步所有未同步的表，每完成一张表即回调一次
+     * @param listener 单表结果回调，会在同步线程中并发调用
+     * @return 每张表的同步结果
+     */
+    List<TableSyncResult> syncAllTables(Consumer<TableSyncResult> listener);
     
     // DDL预览相关的方法
     Map<String, String> previewDDL(UUID tableDesignId);
     List<Map<String, String>> previewAllDDL();
+
+    /**
+     * 预览DDL，live 为 true 时对照目标数据库中实际存在的表给出提示
+     */
+    Map<String, String> previewDDL(UUID tableDesignId, boolean live);
+    List<Map<String, String>> previewAllDDL(boolean live);
     
     /**
      * 批量导出表的 DDL
@@ -30,6 +69,22 @@ public interface TableDesignService {
      */
     byte[] batchExportTableSql(List<UUID> tableIds);
 
+    /**
+     * 批量导出表的 DDL，按批加载表设计并直接写入输出流，内存占用与表数量无关
+     * @param tableIds 表ID列表
+     * @param outputStream 输出流，方法返回前会 flush，但不会关闭
+     * @throws IOException 如果写入失败
+     */
+    void exportTableSql(List<UUID> tableIds, OutputStream outputStream) throws IOException;
+
+    /**
+     * 在项目的目标数据源上执行 SQL 脚本（如导出的 DDL 脚本），所有语句使用同一个池化连接
+     * @param projectId 项目ID，项目没有 ACTIVE 的数据库配置时拒绝执行
+     * @param script SQL 脚本
+     * @return 执行结果，包含每条语句的耗时
+     */
+    ScriptExecutionResult executeSqlScript(UUID projectId, String script);
+
     /**
      * 导入表设计
      * @param file 导入的文件
@@ -52,6 +52,15 @@ public interface TableRelationService {
      */
     List<TableRelation> getTableRelationsByProjectId(UUID projectId);
 
+    /**
+     * 获取项目中的所有表关系
+     *
+     * @param projectId 项目ID
+     * @param includeColumnMappings 是否加载列映射，不需要列映射时只查询关系表
+     * @return 表关系列表
+     */
+    List<TableRelation> getTableRelationsByProjectId(UUID projectId, boolean includeColumnMappings);
+
     /**
      * 获取与指定表相关的所有关系
      *
@@ -0,0 +1,195 @@
+package com.db.modeler.service.compare;
+
+import com.db.modeler.dto.SchemaDiff;
+import com.db.modeler.dto.SchemaMatrix;
+import com.db.modeler.dto.SchemaMatrixEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 同时比较多个环境的表结构
+ *
+ * 每个环境在单独的线程中构建哈希树（实际数据库通过各自的连接池提取），先完成的环境立即与已完成的环境两两比较，
+ * 因此最慢的环境结束前就能得到部分结果。全部结束后按表名对齐，输出各环境间不一致的表。
+ */
+@Component
+public class SchemaMatrixComparator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMatrixComparator.class);
+
+    private final ExecutorService executor;
+
+    public SchemaMatrixComparator() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "schema-compare-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * 比较多个环境
+     * @param environments 参与比较的环境，按请求顺序，已设置 id 和 name
+     * @param loader 按环境ID构建哈希树，在工作线程中执行
+     * @param listener 每个事件调用一次，在调用线程中执行；最后一个事件是 MATRIX
+     * @return 比较矩阵
+     */
+    public SchemaMatrix compare(List<SchemaMatrix.Environment> environments, Function<String, SchemaTree> loader,
+                                Consumer<SchemaMatrixEvent> listener) {
+        long start = System.nanoTime();
+        int size = environments.size();
+        CompletionService<Loaded> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Loaded>> futures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            futures.add(completionService.submit(() -> load(index, environments.get(index), loader)));
+        }
+
+        SchemaTree[] trees = new SchemaTree[size];
+        try {
+            for (int completed = 0; completed < size; completed++) {
+                Loaded loaded = completionService.take().get();
+                trees[loaded.index] = loaded.tree;
+                SchemaMatrixEvent environmentEvent = new SchemaMatrixEvent();
+                environmentEvent.setType(SchemaMatrixEvent.Type.ENVIRONMENT);
+                environmentEvent.setEnvironment(environments.get(loaded.index));
+                listener.accept(environmentEvent);
+                if (loaded.tree == null) {
+                    continue;
+                }
+                for (int other = 0; other < size; other++) {
+                    if (other != loaded.index && trees[other] != null) {
+                        listener.accept(diffEvent(environments, trees, Math.min(other, loaded.index),
+                            Math.max(other, loaded.index)));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Schema comparison interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Schema comparison failed", e.getCause());
+        } finally {
+            // 调用方出错（如客户端断开）时不再继续提取其余环境
+            for (Future<Loaded> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        SchemaMatrix matrix = align(environments, trees);
+        matrix.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        SchemaMatrixEvent matrixEvent = new SchemaMatrixEvent();
+        matrixEvent.setType(SchemaMatrixEvent.Type.MATRIX);
+        matrixEvent.setMatrix(matrix);
+        listener.accept(matrixEvent);
+        logger.info("Compared {} environments: {} of {} tables differ in {} ms", size,
+            matrix.getTables().size(), matrix.getTotalTables(), matrix.getDurationMs());
+        return matrix;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Loaded load(int index, SchemaMatrix.Environment environment, Function<String, SchemaTree> loader) {
+        long start = System.nanoTime();
+        SchemaTree tree = null;
+        try {
+            tree = loader.apply(environment.getId());
+            environment.setTableCount(tree.getTables().size());
+            environment.setHash(tree.getHash());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load schema of environment {}", environment.getId(), e);
+            environment.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        environment.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        return new Loaded(index, tree);
+    }
+
+    private SchemaMatrixEvent diffEvent(List<SchemaMatrix.Environment> environments, SchemaTree[] trees,
+                                        int source, int target) {
+        SchemaDiff diff = SchemaTreeComparator.compare(trees[source], trees[target]);
+        SchemaMatrixEvent event = new SchemaMatrixEvent();
+        event.setType(SchemaMatrixEvent.Type.DIFF);
+        event.setSourceId(environments.get(source).getId());
+        event.setTargetId(environments.get(target).getId());
+        event.setDiff(diff);
+        return event;
+    }
+
+    /**
+     * 按表名对齐各环境的表哈希，同一行中哈希相同的环境使用同一个结构编号（从 1 开始）
+     */
+    private SchemaMatrix align(List<SchemaMatrix.Environment> environments, SchemaTree[] trees) {
+        Map<String, String[]> rows = new TreeMap<>();
+        for (int i = 0; i < trees.length; i++) {
+            if (trees[i] == null) {
+                continue;
+            }
+            for (SchemaTree.TableNode table : trees[i].getTables().values()) {
+                rows.computeIfAbsent(table.getCode(), code -> new String[trees.length])[i] = table.getHash();
+            }
+        }
+
+        SchemaMatrix matrix = new SchemaMatrix();
+        matrix.setEnvironments(environments);
+        matrix.setTotalTables(rows.size());
+        List<String> variants = new ArrayList<>();
+        for (Map.Entry<String, String[]> entry : rows.entrySet()) {
+            String[] hashes = entry.getValue();
+            SchemaMatrix.TableRow row = new SchemaMatrix.TableRow();
+            row.setTableCode(entry.getKey());
+            variants.clear();
+            boolean missing = false;
+            for (int i = 0; i < hashes.length; i++) {
+                if (hashes[i] == null) {
+                    missing |= trees[i] != null;
+                    row.getVariants().add(null);
+                    continue;
+                }
+                int variant = variants.indexOf(hashes[i]);
+                if (variant < 0) {
+                    variants.add(hashes[i]);
+                    variant = variants.size() - 1;
+                }
+                row.getVariants().add(variant + 1);
+            }
+            if (!missing && variants.size() == 1) {
+                matrix.setIdenticalTables(matrix.getIdenticalTables() + 1);
+            } else {
+                matrix.getTables().add(row);
+            }
+        }
+        return matrix;
+    }
+
+    private static final class Loaded {
+        private final int index;
+        private final SchemaTree tree;
+
+        private Loaded(int index, SchemaTree tree) {
+            this.index = index;
+            this.tree = tree;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.db.modeler.service.compare;
+
+import com.db.modeler.entity.ColumnDefinition;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 表结构的哈希树：列的哈希按列顺序汇总为表的哈希，表的哈希按表名汇总为整个库的哈希
+ *
+ * 两棵树的库哈希相同即结构相同；否则只需要比较哈希不同的表，表内也只需要比较哈希不同的列。
+ * 树和节点创建后不可修改，可在多个线程间共享和缓存。
+ */
+public final class SchemaTree {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final String NULL = "\u0001";
+
+    // 与 DDL 生成器未指定时使用的默认值一致
+    private static final int DEFAULT_CHAR_LENGTH = 255;
+    private static final int DEFAULT_DECIMAL_PRECISION = 10;
+    private static final int DEFAULT_DECIMAL_SCALE = 0;
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final String hash;
+    private final Map<String, TableNode> tables;
+
+    private SchemaTree(String hash, Map<String, TableNode> tables) {
+        this.hash = hash;
+        this.tables = tables;
+    }
+
+    /**
+     * 由表节点构造整棵树，表名重复时保留后一个
+     */
+    public static SchemaTree of(Collection<TableNode> tableNodes) {
+        Map<String, TableNode> tables = new TreeMap<>();
+        for (TableNode table : tableNodes) {
+            tables.put(table.getCode(), table);
+        }
+        MessageDigest digest = sha256();
+        for (TableNode table : tables.values()) {
+            update(digest, table.getCode());
+            update(digest, table.getHash());
+        }
+        return new SchemaTree(HexFormat.of().formatHex(digest.digest()), Collections.unmodifiableMap(tables));
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * 表名 -> 表节点，按表名排序
+     */
+    public Map<String, TableNode> getTables() {
+        return tables;
+    }
+
+    /**
+     * 计算表节点的哈希；显示名只用于展示，不参与计算
+     */
+    public static TableNode table(String code, String comment, List<ColumnDefinition> columns) {
+        Map<String, String> columnHashes = new LinkedHashMap<>();
+        for (ColumnDefinition column : columns) {
+            columnHashes.put(column.getCode(), columnHash(column));
+        }
+        MessageDigest digest = sha256();
+        update(digest, code);
+        update(digest, comment);
+        for (ColumnDefinition column : columns) {
+            update(digest, columnHashes.get(column.getCode()));
+        }
+        return new TableNode(code, comment, HexFormat.of().formatHex(digest.digest()),
+            Collections.unmodifiableList(new ArrayList<>(columns)), Collections.unmodifiableMap(columnHashes));
+    }
+
+    /**
+     * 数据类型不区分大小写；带引号的枚举值区分大小写，保持原样
+     */
+    public static String normalizeDataType(String dataType) {
+        if (dataType == null || dataType.indexOf('\'') >= 0) {
+            return dataType;
+        }
+        return dataType.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 按 DDL 生成器的规则规范化的列定义副本，生成的 DDL 相同的两列规范化后相同：
+     * 只有 CHAR/VARCHAR 有长度（默认 255），只有 DECIMAL 有精度和小数位（默认 10,0）；
+     * 主键列总是 NOT NULL；空的默认值和注释视为没有
+     */
+    public static ColumnDefinition normalizeColumn(ColumnDefinition column) {
+        String dataType = normalizeDataType(column.getDataType());
+        ColumnDefinition normalized = new ColumnDefinition();
+        normalized.setCode(column.getCode());
+        normalized.setDisplayName(column.getDisplayName());
+        normalized.setDataType(dataType);
+        if ("VARCHAR".equals(dataType) || "CHAR".equals(dataType)) {
+            normalized.setLength(column.getLength() != null ? column.getLength() : DEFAULT_CHAR_LENGTH);
+        } else if ("DECIMAL".equals(dataType)) {
+            normalized.setPrecision(column.getPrecision() != null ? column.getPrecision() : DEFAULT_DECIMAL_PRECISION);
+            normalized.setScale(column.getScale() != null ? column.getScale() : DEFAULT_DECIMAL_SCALE);
+        }
+        normalized.setNullable(column.isNullable() && !column.isPrimaryKey());
+        normalized.setDefaultValue(emptyToNull(column.getDefaultValue()));
+        normalized.setPrimaryKey(column.isPrimaryKey());
+        normalized.setComment(emptyToNull(column.getComment()));
+        normalized.setIndexes(column.getIndexes());
+        return normalized;
+    }
+
+    /**
+     * 索引名排序后比较，列中索引的登记顺序没有意义
+     */
+    public static List<String> sortedIndexes(ColumnDefinition column) {
+        if (column.getIndexes() == null || column.getIndexes().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> indexes = new ArrayList<>(column.getIndexes());
+        Collections.sort(indexes);
+        return indexes;
+    }
+
+    private static String columnHash(ColumnDefinition original) {
+        ColumnDefinition column = normalizeColumn(original);
+        MessageDigest digest = sha256();
+        update(digest, column.getCode());
+        update(digest, column.getDataType());
+        update(digest, column.getLength());
+        update(digest, column.getPrecision());
+        update(digest, column.getScale());
+        update(digest, column.isNullable());
+        update(digest, column.getDefaultValue());
+        update(digest, column.isPrimaryKey());
+        update(digest, column.getComment());
+        for (String index : sortedIndexes(column)) {
+            update(digest, index);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        String text = value == null ? NULL : value.toString();
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) SEPARATOR);
+    }
+
+    /**
+     * 每个线程复用一个实例，digest() 之后自动重置；调用方不能嵌套使用
+     */
+    private static MessageDigest sha256() {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return digest;
+    }
+
+    /**
+     * 一张表的节点：表哈希和每列的哈希
+     */
+    public static final class TableNode {
+        private final String code;
+        private final String comment;
+        private final String hash;
+        private final List<ColumnDefinition> columns;
+        private final Map<String, String> columnHashes;
+
+        private TableNode(String code, String comment, String hash, List<ColumnDefinition> columns,
+                          Map<String, String> columnHashes) {
+            this.code = code;
+            this.comment = comment;
+            this.hash = hash;
+            this.columns = columns;
+            this.columnHashes = columnHashes;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public List<ColumnDefinition> getColumns() {
+            return columns;
+        }
+
+        /**
+         * 列名 -> 列哈希，按列顺序排列
+         */
+        public Map<String, String> getColumnHashes() {
+            return columnHashes;
+        }
+    }
+}
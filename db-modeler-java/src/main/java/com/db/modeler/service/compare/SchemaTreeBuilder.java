@@ -0,0 +1,148 @@
+package com.db.modeler.service.compare;
+
+import com.db.modeler.entity.ColumnDefinition;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.exception.ValidationException;
+import com.db.modeler.service.ddl.ColumnModelCache;
+import com.db.modeler.service.reverse.QueryRateLimiter;
+import com.db.modeler.service.reverse.SchemaExtractor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * 为表设计或实际数据库构建哈希树
+ *
+ * 表设计的节点按表ID缓存，命中条件是表名、注释和列定义JSON与缓存时一致，
+ * 因此重复比较大项目时只重新计算修改过的表。实际数据库每次都重新提取。
+ */
+@Component
+public class SchemaTreeBuilder {
+
+    @Autowired
+    private ColumnModelCache columnModelCache;
+
+    @Autowired
+    private SchemaExtractor schemaExtractor;
+
+    private final ObjectReader columnsReader;
+
+    private final Map<UUID, Entry> entries;
+
+    public SchemaTreeBuilder(ObjectMapper objectMapper,
+                             @Value("${app.compare.table-cache-size:20000}") int maxSize) {
+        this.columnsReader = objectMapper.readerFor(new TypeReference<List<ColumnDefinition>>() {});
+        this.entries = new LinkedHashMap<UUID, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public SchemaTree fromDesigns(List<TableDesign> tableDesigns) {
+        List<SchemaTree.TableNode> nodes = new ArrayList<>(tableDesigns.size());
+        for (TableDesign tableDesign : tableDesigns) {
+            nodes.add(designNode(tableDesign));
+        }
+        return SchemaTree.of(nodes);
+    }
+
+    /**
+     * 提取实际数据库的表结构；提取出的表ID是临时的，不进入缓存
+     */
+    public SchemaTree fromDatabase(DatabaseConfig config) {
+        return fromDatabase(config, tableName -> true, QueryRateLimiter.UNLIMITED);
+    }
+
+    /**
+     * 只提取 include 接受的表，元数据查询受 limiter 限速
+     */
+    public SchemaTree fromDatabase(DatabaseConfig config, Predicate<String> include, QueryRateLimiter limiter) {
+        List<SchemaTree.TableNode> nodes = Collections.synchronizedList(new ArrayList<>());
+        schemaExtractor.extract(config, config.getProjectId(), Collections.emptyMap(), include, limiter, chunk -> {
+            for (TableDesign table : chunk.getTables()) {
+                nodes.add(SchemaTree.table(table.getCode(), table.getComment(), parseColumns(table)));
+            }
+        });
+        return SchemaTree.of(nodes);
+    }
+
+    /**
+     * 表设计的节点，表名、注释和列定义未修改时直接返回缓存
+     */
+    public SchemaTree.TableNode designNode(TableDesign tableDesign) {
+        UUID tableId = tableDesign.getId();
+        String columnsJson = tableDesign.getColumns();
+        synchronized (entries) {
+            Entry entry = entries.get(tableId);
+            if (entry != null && entry.matches(tableDesign)) {
+                return entry.node;
+            }
+        }
+        List<ColumnDefinition> columns;
+        try {
+            columns = columnModelCache.getColumns(tableDesign);
+        } catch (IOException e) {
+            throw new ValidationException("Invalid column definitions of table " + tableDesign.getCode());
+        }
+        SchemaTree.TableNode node = SchemaTree.table(tableDesign.getCode(), tableDesign.getComment(), columns);
+        if (tableId != null) {
+            synchronized (entries) {
+                entries.put(tableId, new Entry(columnsJson, node));
+            }
+        }
+        return node;
+    }
+
+    /**
+     * 移除表的缓存节点
+     */
+    public void evict(UUID tableId) {
+        synchronized (entries) {
+            entries.remove(tableId);
+        }
+    }
+
+    private List<ColumnDefinition> parseColumns(TableDesign table) {
+        if (!StringUtils.hasText(table.getColumns())) {
+            return Collections.emptyList();
+        }
+        try {
+            return columnsReader.readValue(table.getColumns());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to parse extracted columns of table " + table.getCode(), e);
+        }
+    }
+
+    private static final class Entry {
+        private final String columnsJson;
+        private final SchemaTree.TableNode node;
+
+        private Entry(String columnsJson, SchemaTree.TableNode node) {
+            this.columnsJson = columnsJson;
+            this.node = node;
+        }
+
+        private boolean matches(TableDesign tableDesign) {
+            return Objects.equals(columnsJson, tableDesign.getColumns())
+                && Objects.equals(node.getCode(), tableDesign.getCode())
+                && Objects.equals(node.getComment(), tableDesign.getComment());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.db.modeler.service.compare;
+
+import com.db.modeler.dto.SchemaDiff;
+import com.db.modeler.entity.ColumnDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 比较两棵哈希树，只进入哈希不同的子树
+ *
+ * 库哈希相同时直接返回；否则按表名比较表哈希，表哈希不同时再按列名比较列哈希，
+ * 只为哈希不同的列计算具体修改了哪些属性。
+ */
+public final class SchemaTreeComparator {
+
+    private SchemaTreeComparator() {
+    }
+
+    public static SchemaDiff compare(SchemaTree source, SchemaTree target) {
+        SchemaDiff diff = new SchemaDiff();
+        diff.setSourceHash(source.getHash());
+        diff.setTargetHash(target.getHash());
+        diff.setSourceTableCount(source.getTables().size());
+        diff.setTargetTableCount(target.getTables().size());
+        diff.setIdentical(source.getHash().equals(target.getHash()));
+        if (diff.isIdentical()) {
+            return diff;
+        }
+
+        Map<String, SchemaTree.TableNode> targetTables = target.getTables();
+        for (SchemaTree.TableNode sourceTable : source.getTables().values()) {
+            SchemaTree.TableNode targetTable = targetTables.get(sourceTable.getCode());
+            if (targetTable == null) {
+                diff.getTables().add(tableDiff(sourceTable.getCode(), SchemaDiff.ChangeType.REMOVED));
+            } else if (!sourceTable.getHash().equals(targetTable.getHash())) {
+                diff.getTables().add(compareTables(sourceTable, targetTable));
+            }
+        }
+        for (SchemaTree.TableNode targetTable : targetTables.values()) {
+            if (!source.getTables().containsKey(targetTable.getCode())) {
+                diff.getTables().add(tableDiff(targetTable.getCode(), SchemaDiff.ChangeType.ADDED));
+            }
+        }
+        diff.getTables().sort((a, b) -> a.getTableCode().compareTo(b.getTableCode()));
+        return diff;
+    }
+
+    /**
+     * 比较同名的两张表，只展开哈希不同的列
+     */
+    public static SchemaDiff.TableDiff compareTables(SchemaTree.TableNode source, SchemaTree.TableNode target) {
+        SchemaDiff.TableDiff diff = tableDiff(source.getCode(), SchemaDiff.ChangeType.MODIFIED);
+        if (!Objects.equals(source.getComment(), target.getComment())) {
+            diff.setCommentChanged(true);
+            diff.setSourceComment(source.getComment());
+            diff.setTargetComment(target.getComment());
+        }
+
+        Map<String, String> sourceHashes = source.getColumnHashes();
+        Map<String, String> targetHashes = target.getColumnHashes();
+        Map<String, ColumnDefinition> targetColumns = new HashMap<>();
+        for (ColumnDefinition column : target.getColumns()) {
+            targetColumns.put(column.getCode(), column);
+        }
+        List<String> commonInSourceOrder = new ArrayList<>();
+        for (ColumnDefinition column : source.getColumns()) {
+            String targetHash = targetHashes.get(column.getCode());
+            if (targetHash == null) {
+                diff.getColumns().add(columnDiff(column.getCode(), SchemaDiff.ChangeType.REMOVED, column, null));
+                continue;
+            }
+            commonInSourceOrder.add(column.getCode());
+            if (!targetHash.equals(sourceHashes.get(column.getCode()))) {
+                ColumnDefinition targetColumn = targetColumns.get(column.getCode());
+                SchemaDiff.ColumnDiff columnDiff = columnDiff(column.getCode(), SchemaDiff.ChangeType.MODIFIED,
+                    column, targetColumn);
+                columnDiff.setChangedAttributes(changedAttributes(column, targetColumn));
+                diff.getColumns().add(columnDiff);
+            }
+        }
+        List<String> commonInTargetOrder = new ArrayList<>();
+        for (ColumnDefinition column : target.getColumns()) {
+            if (sourceHashes.containsKey(column.getCode())) {
+                commonInTargetOrder.add(column.getCode());
+            } else {
+                diff.getColumns().add(columnDiff(column.getCode(), SchemaDiff.ChangeType.ADDED, null, column));
+            }
+        }
+        diff.setColumnOrderChanged(!commonInSourceOrder.equals(commonInTargetOrder));
+        return diff;
+    }
+
+    private static List<String> changedAttributes(ColumnDefinition source, ColumnDefinition target) {
+        List<String> attributes = new ArrayList<>();
+        if (!Objects.equals(SchemaTree.normalizeDataType(source.getDataType()),
+            SchemaTree.normalizeDataType(target.getDataType()))) {
+            attributes.add("dataType");
+        }
+        if (!Objects.equals(source.getLength(), target.getLength())) {
+            attributes.add("length");
+        }
+        if (!Objects.equals(source.getPrecision(), target.getPrecision())) {
+            attributes.add("precision");
+        }
+        if (!Objects.equals(source.getScale(), target.getScale())) {
+            attributes.add("scale");
+        }
+        if (source.isNullable() != target.isNullable()) {
+            attributes.add("nullable");
+        }
+        if (!Objects.equals(source.getDefaultValue(), target.getDefaultValue())) {
+            attributes.add("defaultValue");
+        }
+        if (source.isPrimaryKey() != target.isPrimaryKey()) {
+            attributes.add("primaryKey");
+        }
+        if (!Objects.equals(source.getComment(), target.getComment())) {
+            attributes.add("comment");
+        }
+        if (!SchemaTree.sortedIndexes(source).equals(SchemaTree.sortedIndexes(target))) {
+            attributes.add("indexes");
+        }
+        return attributes;
+    }
+
+    private static SchemaDiff.TableDiff tableDiff(String tableCode, SchemaDiff.ChangeType type) {
+        SchemaDiff.TableDiff diff = new SchemaDiff.TableDiff();
+        diff.setTableCode(tableCode);
+        diff.setType(type);
+        return diff;
+    }
+
+    private static SchemaDiff.ColumnDiff columnDiff(String columnCode, SchemaDiff.ChangeType type,
+                                                    ColumnDefinition source, ColumnDefinition target) {
+        SchemaDiff.ColumnDiff diff = new SchemaDiff.ColumnDiff();
+        diff.setColumnCode(columnCode);
+        diff.setType(type);
+        diff.setSource(source);
+        diff.setTarget(target);
+        return diff;
+    }
+}
@@ -0,0 +1,204 @@
+package com.db.modeler.service.connection;
+
+import com.db.modeler.config.DynamicDataSourceConfig;
+import com.db.modeler.dto.ConnectionProbeResult;
+import com.db.modeler.entity.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 轻量级连接探测
+ *
+ * 不经过连接池，直接用驱动打开一个带有连接超时和读超时的连接，执行一条验证查询后关闭。
+ * 结果按配置ID缓存 {@code app.connection-probe.cache-ttl-ms}，连接信息变化后缓存失效；
+ * 批量探测在独立的有界线程池中并发执行。
+ */
+@Component
+public class ConnectionProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionProbe.class);
+
+    private final Map<UUID, CachedResult> cache = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    private final int connectTimeoutMs;
+
+    private final int socketTimeoutMs;
+
+    private final long cacheTtlMs;
+
+    public ConnectionProbe(@Value("${app.connection-probe.connect-timeout-ms:3000}") int connectTimeoutMs,
+                           @Value("${app.connection-probe.socket-timeout-ms:5000}") int socketTimeoutMs,
+                           @Value("${app.connection-probe.cache-ttl-ms:30000}") long cacheTtlMs,
+                           @Value("${app.connection-probe.parallelism:8}") int parallelism) {
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.socketTimeoutMs = socketTimeoutMs;
+        this.cacheTtlMs = cacheTtlMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "connection-probe-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), threadFactory);
+    }
+
+    /**
+     * 探测单个配置，TTL 内返回缓存的结果
+     */
+    public ConnectionProbeResult probe(DatabaseConfig config) {
+        return probe(config, false);
+    }
+
+    /**
+     * @param refresh 为 true 时忽略缓存重新探测
+     */
+    public ConnectionProbeResult probe(DatabaseConfig config, boolean refresh) {
+        String fingerprint = DynamicDataSourceConfig.fingerprint(config);
+        if (!refresh && config.getId() != null) {
+            CachedResult cached = cache.get(config.getId());
+            if (cached != null && cached.fingerprint.equals(fingerprint)
+                    && cached.expiresAt > System.currentTimeMillis()) {
+                ConnectionProbeResult result = cached.result.copy();
+                result.setCached(true);
+                return result;
+            }
+        }
+
+        ConnectionProbeResult result = doProbe(config);
+        if (config.getId() != null) {
+            cache.put(config.getId(), new CachedResult(fingerprint, result, System.currentTimeMillis() + cacheTtlMs));
+        }
+        return result;
+    }
+
+    /**
+     * 并发探测多个配置
+     * @return 与输入顺序一致的探测结果
+     */
+    public List<ConnectionProbeResult> probeAll(List<DatabaseConfig> configs, boolean refresh) {
+        List<CompletableFuture<ConnectionProbeResult>> futures = new ArrayList<>(configs.size());
+        for (DatabaseConfig config : configs) {
+            futures.add(CompletableFuture.supplyAsync(() -> probe(config, refresh), executor));
+        }
+        List<ConnectionProbeResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<ConnectionProbeResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * 在探测线程池中异步探测，不使用缓存；结果同样写入缓存
+     */
+    public CompletableFuture<ConnectionProbeResult> probeAsync(DatabaseConfig config) {
+        return CompletableFuture.supplyAsync(() -> probe(config, true), executor);
+    }
+
+    /**
+     * 删除配置的缓存结果
+     */
+    public void evict(UUID configId) {
+        cache.remove(configId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ConnectionProbeResult doProbe(DatabaseConfig config) {
+        ConnectionProbeResult result = new ConnectionProbeResult();
+        result.setConfigId(config.getId());
+        result.setName(config.getName());
+        result.setCheckedAt(new Date());
+
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(DynamicDataSourceConfig.buildJdbcUrl(config),
+                connectionProperties(config))) {
+            long connected = System.nanoTime();
+            result.setConnectMs((connected - start) / 1_000_000);
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(Math.max(1, socketTimeoutMs / 1000));
+                statement.execute(validationQuery(config));
+            }
+            result.setRoundTripMs((System.nanoTime() - connected) / 1_000_000);
+            result.setSuccess(true);
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Connection probe failed for database config {}: {}", config.getId(), e.getMessage());
+            result.setSuccess(false);
+            result.setError(e.getMessage());
+        }
+        result.setLatencyMs((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * 各驱动的连接超时和读超时参数，单位不同
+     */
+    private Properties connectionProperties(DatabaseConfig config) {
+        Properties properties = new Properties();
+        if (config.getUsername() != null) {
+            properties.setProperty("user", config.getUsername());
+        }
+        if (config.getPassword() != null) {
+            properties.setProperty("password", config.getPassword());
+        }
+        switch (config.getType()) {
+            case MYSQL -> {
+                properties.setProperty("connectTimeout", String.valueOf(connectTimeoutMs));
+                properties.setProperty("socketTimeout", String.valueOf(socketTimeoutMs));
+            }
+            case POSTGRESQL -> {
+                properties.setProperty("connectTimeout", String.valueOf(Math.max(1, connectTimeoutMs / 1000)));
+                properties.setProperty("socketTimeout", String.valueOf(Math.max(1, socketTimeoutMs / 1000)));
+            }
+            case ORACLE -> {
+                properties.setProperty("oracle.net.CONNECT_TIMEOUT", String.valueOf(connectTimeoutMs));
+                properties.setProperty("oracle.jdbc.ReadTimeout", String.valueOf(socketTimeoutMs));
+            }
+            case SQLSERVER -> {
+                properties.setProperty("loginTimeout", String.valueOf(Math.max(1, connectTimeoutMs / 1000)));
+                properties.setProperty("socketTimeout", String.valueOf(socketTimeoutMs));
+            }
+        }
+        return properties;
+    }
+
+    private String validationQuery(DatabaseConfig config) {
+        return config.getType() == DatabaseConfig.Type.ORACLE ? "SELECT 1 FROM DUAL" : "SELECT 1";
+    }
+
+    private static final class CachedResult {
+        private final String fingerprint;
+        private final ConnectionProbeResult result;
+        private final long expiresAt;
+
+        CachedResult(String fingerprint, ConnectionProbeResult result, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.db.modeler.service.connection;
+
+import com.db.modeler.config.DynamicDataSourceConfig;
+import com.db.modeler.dto.ConnectionProbeResult;
+import com.db.modeler.dto.TargetHealthStatus;
+import com.db.modeler.dto.TargetHealthStatus.Sample;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.mapper.DatabaseConfigMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 目标数据库健康监控
+ *
+ * 定时检查所有 ACTIVE 的数据库配置，到期的目标交给 {@link ConnectionProbe} 的有界线程池并发探测。
+ * 每个目标的下次检查时间在 {@code app.health.interval-ms} 基础上随机浮动，避免所有目标同时探测；
+ * 连续失败达到 {@code app.health.failure-threshold} 次视为 DOWN，同步时直接跳过。
+ */
+@Component
+public class TargetHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TargetHealthMonitor.class);
+
+    private final Map<UUID, TargetState> states = new ConcurrentHashMap<>();
+
+    @Autowired
+    private DatabaseConfigMapper databaseConfigMapper;
+
+    @Autowired
+    private ConnectionProbe connectionProbe;
+
+    @Autowired
+    private DynamicDataSourceConfig dynamicDataSourceConfig;
+
+    @Value("${app.health.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.health.interval-ms:30000}")
+    private long intervalMs;
+
+    @Value("${app.health.jitter-ratio:0.2}")
+    private double jitterRatio;
+
+    @Value("${app.health.failure-threshold:2}")
+    private int failureThreshold;
+
+    @Value("${app.health.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @Value("${app.health.history-size:20}")
+    private int historySize;
+
+    /**
+     * 找出到期的目标并发起探测，探测在后台完成，不阻塞调度线程
+     */
+    @Scheduled(fixedDelayString = "${app.health.tick-ms:5000}")
+    public void checkDueTargets() {
+        if (!enabled) {
+            return;
+        }
+        List<DatabaseConfig> configs;
+        try {
+            configs = databaseConfigMapper.selectActive();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load database configs for health check", e);
+            return;
+        }
+
+        Set<UUID> activeIds = new HashSet<>();
+        long now = System.currentTimeMillis();
+        for (DatabaseConfig config : configs) {
+            activeIds.add(config.getId());
+            TargetState state = states.computeIfAbsent(config.getId(), id -> new TargetState(now + Math.abs(jitter())));
+            if (state.tryStart(config, now)) {
+                connectionProbe.probeAsync(config).whenComplete((result, error) -> {
+                    if (error != null) {
+                        logger.warn("Health check failed for database config {}", config.getId(), error);
+                    }
+                    state.finish(result, System.currentTimeMillis() + intervalMs + jitter());
+                });
+            }
+        }
+        // 已删除或停用的配置不再监控
+        states.keySet().retainAll(activeIds);
+    }
+
+    /**
+     * 检查间隔的随机浮动量，第一次检查取其绝对值，使新加入的目标分散在不同时间首次探测
+     */
+    private long jitter() {
+        long bound = (long) (intervalMs * jitterRatio);
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(-bound, bound + 1);
+    }
+
+    /**
+     * 目标当前是否已知不可用；没有检查记录的目标视为可用
+     */
+    public boolean isDown(UUID configId) {
+        TargetState state = states.get(configId);
+        return state != null && state.status() == TargetHealthStatus.Status.DOWN;
+    }
+
+    public TargetHealthStatus getStatus(UUID configId) {
+        TargetState state = states.get(configId);
+        return state == null ? null : state.snapshot(configId);
+    }
+
+    /**
+     * 项目所有数据库配置的健康状态，尚未检查过的配置状态为 UNKNOWN
+     */
+    public List<TargetHealthStatus> getProjectStatus(UUID projectId) {
+        List<TargetHealthStatus> statuses = new ArrayList<>();
+        for (DatabaseConfig config : databaseConfigMapper.selectByProjectId(projectId)) {
+            TargetState state = states.get(config.getId());
+            TargetHealthStatus status;
+            if (state == null) {
+                status = new TargetHealthStatus();
+                status.setConfigId(config.getId());
+                status.setStatus(TargetHealthStatus.Status.UNKNOWN);
+            } else {
+                status = state.snapshot(config.getId());
+            }
+            status.setProjectId(config.getProjectId());
+            status.setName(config.getName());
+            statuses.add(status);
+        }
+        return statuses;
+    }
+
+    private class TargetState {
+        private final Deque<Sample> history = new ArrayDeque<>();
+        private long nextCheckAt;
+        private boolean inFlight;
+        private UUID projectId;
+        private String name;
+        private ConnectionProbeResult lastResult;
+        private int consecutiveFailures;
+
+        TargetState(long nextCheckAt) {
+            this.nextCheckAt = nextCheckAt;
+        }
+
+        /**
+         * 到期且没有进行中的探测时标记为进行中
+         */
+        synchronized boolean tryStart(DatabaseConfig config, long now) {
+            projectId = config.getProjectId();
+            name = config.getName();
+            if (inFlight || now < nextCheckAt) {
+                return false;
+            }
+            inFlight = true;
+            return true;
+        }
+
+        synchronized void finish(ConnectionProbeResult result, long nextCheckAt) {
+            inFlight = false;
+            this.nextCheckAt = nextCheckAt;
+            if (result == null) {
+                return;
+            }
+            lastResult = result;
+            consecutiveFailures = result.isSuccess() ? 0 : consecutiveFailures + 1;
+            history.addLast(new Sample(result.getCheckedAt(), result.isSuccess(), result.getConnectMs(),
+                result.getRoundTripMs()));
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+        }
+
+        synchronized TargetHealthStatus.Status status() {
+            if (lastResult == null) {
+                return TargetHealthStatus.Status.UNKNOWN;
+            }
+            if (consecutiveFailures >= failureThreshold) {
+                return TargetHealthStatus.Status.DOWN;
+            }
+            if (!lastResult.isSuccess() || lastResult.getLatencyMs() > slowThresholdMs) {
+                return TargetHealthStatus.Status.DEGRADED;
+            }
+            return TargetHealthStatus.Status.UP;
+        }
+
+        synchronized TargetHealthStatus snapshot(UUID configId) {
+            TargetHealthStatus status = new TargetHealthStatus();
+            status.setConfigId(configId);
+            status.setProjectId(projectId);
+            status.setName(name);
+            status.setStatus(status());
+            status.setConsecutiveFailures(consecutiveFailures);
+            if (lastResult != null) {
+                status.setLastCheckedAt(lastResult.getCheckedAt());
+                status.setConnectMs(lastResult.getConnectMs());
+                status.setRoundTripMs(lastResult.getRoundTripMs());
+                status.setError(lastResult.getError());
+            }
+            status.setPool(dynamicDataSourceConfig.getPoolStats(configId));
+            status.setHistory(new ArrayList<>(history));
+            return status;
+        }
+    }
+}
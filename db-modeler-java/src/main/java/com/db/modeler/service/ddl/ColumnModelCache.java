@@ -0,0 +1,93 @@
+package com.db.modeler.service.ddl;
+
+import com.db.modeler.entity.ColumnDefinition;
+import com.db.modeler.entity.TableDesign;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 已解析列定义的缓存
+ *
+ * 以表ID为键，命中条件是缓存时的列定义JSON与当前内容一致，因此表设计修改后自动失效。
+ * 容量有限，按最近最少使用淘汰。缓存的列表不可修改，可在多个线程间共享。
+ */
+@Component
+public class ColumnModelCache {
+
+    private final ObjectReader columnsReader;
+
+    private final Map<UUID, Entry> entries;
+
+    public ColumnModelCache(ObjectMapper objectMapper,
+                            @Value("${app.ddl.column-cache-size:2048}") int maxSize) {
+        this.columnsReader = objectMapper.readerFor(new TypeReference<List<ColumnDefinition>>() {});
+        this.entries = new LinkedHashMap<UUID, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取表设计的列定义，内容未变化时直接返回缓存结果
+     * @param tableDesign 表设计
+     * @return 不可修改的列定义列表
+     * @throws IOException 列定义JSON格式错误
+     */
+    public List<ColumnDefinition> getColumns(TableDesign tableDesign) throws IOException {
+        String columnsJson = tableDesign.getColumns();
+        if (!StringUtils.hasText(columnsJson)) {
+            return Collections.emptyList();
+        }
+
+        UUID tableId = tableDesign.getId();
+        if (tableId != null) {
+            Entry entry;
+            synchronized (entries) {
+                entry = entries.get(tableId);
+            }
+            if (entry != null && (entry.source == columnsJson || entry.source.equals(columnsJson))) {
+                return entry.columns;
+            }
+        }
+
+        List<ColumnDefinition> columns = Collections.unmodifiableList(columnsReader.readValue(columnsJson));
+        if (tableId != null) {
+            synchronized (entries) {
+                entries.put(tableId, new Entry(columnsJson, columns));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 移除表的缓存
+     */
+    public void evict(UUID tableId) {
+        synchronized (entries) {
+            entries.remove(tableId);
+        }
+    }
+
+    private static final class Entry {
+        private final String source;
+        private final List<ColumnDefinition> columns;
+
+        private Entry(String source, List<ColumnDefinition> columns) {
+            this.source = source;
+            this.columns = columns;
+        }
+    }
+}
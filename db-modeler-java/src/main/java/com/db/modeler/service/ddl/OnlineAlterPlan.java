@@ -0,0 +1,71 @@
+package com.db.modeler.service.ddl;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 在线模式生成的 ALTER TABLE：所有变更合并为一条语句，并带有 ALGORITHM/LOCK 提示
+ */
+public class OnlineAlterPlan {
+
+    /**
+     * 执行算法，按限制从少到多排列；一条语句取所有变更中限制最多的算法
+     */
+    public enum Algorithm {
+        INSTANT,
+        INPLACE,
+        COPY
+    }
+
+    private static final OnlineAlterPlan EMPTY = new OnlineAlterPlan("", Algorithm.INSTANT, null,
+        Collections.emptyList());
+
+    private final String ddl;
+    private final Algorithm algorithm;
+    private final String lock;
+    private final List<String> copyReasons;
+
+    public OnlineAlterPlan(String ddl, Algorithm algorithm, String lock, List<String> copyReasons) {
+        this.ddl = ddl;
+        this.algorithm = algorithm;
+        this.lock = lock;
+        this.copyReasons = Collections.unmodifiableList(copyReasons);
+    }
+
+    public static OnlineAlterPlan empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 完整的 ALTER TABLE 语句，没有变更时为空字符串
+     */
+    public String getDdl() {
+        return ddl;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * LOCK 子句的取值，INSTANT 不允许指定 LOCK，此时为 null
+     */
+    public String getLock() {
+        return lock;
+    }
+
+    /**
+     * 需要回退为 COPY（复制整表、阻塞写入）的原因，在线执行时为空
+     */
+    public List<String> getCopyReasons() {
+        return copyReasons;
+    }
+
+    public boolean isEmpty() {
+        return ddl.isEmpty();
+    }
+
+    public boolean isOnline() {
+        return algorithm != Algorithm.COPY;
+    }
+}
@@ -0,0 +1,150 @@
+package com.db.modeler.service.ddl;
+
+import com.db.modeler.entity.ColumnDefinition;
+import com.db.modeler.service.ddl.OnlineAlterPlan.Algorithm;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 按 MySQL 8.0 InnoDB 在线 DDL 的规则判断每项变更可用的算法
+ *
+ * 规则偏保守：只把 8.0.12 起就支持的操作归为 INSTANT（末尾追加列、修改默认值），
+ * 无法确定能在线执行的变更一律归为 COPY 并给出原因。
+ */
+public final class OnlineAlterPolicy {
+
+    // utf8mb4 下 VARCHAR 长度超过 63 个字符时长度前缀从 1 字节变为 2 字节
+    private static final int VARCHAR_ONE_BYTE_PREFIX_MAX_CHARS = 63;
+
+    private OnlineAlterPolicy() {
+    }
+
+    /**
+     * 计算整组变更所需的算法，回退为 COPY 的原因写入 copyReasons
+     */
+    public static Algorithm requiredAlgorithm(TableSchemaDiff diff, List<ColumnDefinition> newColumns,
+                                              List<String> copyReasons) {
+        boolean addsPrimaryKey = false;
+        for (SchemaChange change : diff.getChanges()) {
+            addsPrimaryKey |= change.getType() == SchemaChange.Type.ADD_PRIMARY_KEY;
+        }
+        Set<String> nullableColumns = new HashSet<>();
+        for (ColumnDefinition column : newColumns) {
+            if (column.isNullable()) {
+                nullableColumns.add(column.getCode());
+            }
+        }
+
+        List<String> reasons = new ArrayList<>();
+        Algorithm required = Algorithm.INSTANT;
+        for (SchemaChange change : diff.getChanges()) {
+            Algorithm algorithm = algorithmFor(change, addsPrimaryKey, nullableColumns, reasons);
+            if (algorithm.compareTo(required) > 0) {
+                required = algorithm;
+            }
+        }
+        copyReasons.addAll(reasons);
+        return required;
+    }
+
+    private static Algorithm algorithmFor(SchemaChange change, boolean addsPrimaryKey, Set<String> nullableColumns,
+                                          List<String> reasons) {
+        switch (change.getType()) {
+            case ADD_COLUMN:
+                // 8.0.29 之前只有追加到末尾的列可以 INSTANT
+                return change.getAfterColumn() == null ? Algorithm.INSTANT : Algorithm.INPLACE;
+            case DROP_COLUMN:
+            case RENAME_COLUMN:
+            case DROP_INDEX:
+            case ADD_INDEX:
+                return Algorithm.INPLACE;
+            case MODIFY_COLUMN:
+                return modifyAlgorithm(change, reasons);
+            case DROP_PRIMARY_KEY:
+                if (!addsPrimaryKey) {
+                    reasons.add("dropping the primary key without adding a new one requires a table copy");
+                    return Algorithm.COPY;
+                }
+                return Algorithm.INPLACE;
+            case ADD_PRIMARY_KEY:
+                // 主键列需要隐式转换为 NOT NULL 时不能原地执行
+                for (String column : change.getIndexColumns()) {
+                    if (nullableColumns.contains(column)) {
+                        reasons.add("primary key column " + column + " is nullable");
+                        return Algorithm.COPY;
+                    }
+                }
+                return Algorithm.INPLACE;
+            default:
+                reasons.add("unsupported change " + change.getType());
+                return Algorithm.COPY;
+        }
+    }
+
+    private static Algorithm modifyAlgorithm(SchemaChange change, List<String> reasons) {
+        ColumnDefinition before = change.getPreviousColumn();
+        ColumnDefinition after = change.getColumn();
+        if (!change.isDefinitionChanged()) {
+            // 只调整位置，需要重建表但不阻塞读写
+            return Algorithm.INPLACE;
+        }
+
+        if (!sameType(before, after)) {
+            if (isVarcharExtension(before, after)) {
+                return Algorithm.INPLACE;
+            }
+            reasons.add("column " + after.getCode() + " changes type from " + describeType(before)
+                + " to " + describeType(after));
+            return Algorithm.COPY;
+        }
+
+        Algorithm algorithm = Algorithm.INSTANT;
+        if (!Objects.equals(before.getComment(), after.getComment())
+                || before.isNullable() != after.isNullable()) {
+            algorithm = Algorithm.INPLACE;
+        }
+        if (change.getAfterColumn() != null) {
+            algorithm = Algorithm.INPLACE;
+        }
+        return algorithm;
+    }
+
+    private static boolean sameType(ColumnDefinition before, ColumnDefinition after) {
+        return before.getDataType() != null && before.getDataType().equalsIgnoreCase(after.getDataType())
+            && Objects.equals(before.getLength(), after.getLength())
+            && Objects.equals(before.getPrecision(), after.getPrecision())
+            && Objects.equals(before.getScale(), after.getScale());
+    }
+
+    /**
+     * VARCHAR 加长且长度前缀字节数不变时可以原地修改
+     */
+    private static boolean isVarcharExtension(ColumnDefinition before, ColumnDefinition after) {
+        if (!"VARCHAR".equalsIgnoreCase(before.getDataType()) || !"VARCHAR".equalsIgnoreCase(after.getDataType())) {
+            return false;
+        }
+        if (before.getLength() == null || after.getLength() == null || after.getLength() < before.getLength()) {
+            return false;
+        }
+        return (before.getLength() <= VARCHAR_ONE_BYTE_PREFIX_MAX_CHARS)
+            == (after.getLength() <= VARCHAR_ONE_BYTE_PREFIX_MAX_CHARS);
+    }
+
+    private static String describeType(ColumnDefinition column) {
+        StringBuilder type = new StringBuilder(String.valueOf(column.getDataType()));
+        if (column.getLength() != null) {
+            type.append('(').append(column.getLength()).append(')');
+        } else if (column.getPrecision() != null) {
+            type.append('(').append(column.getPrecision());
+            if (column.getScale() != null) {
+                type.append(',').append(column.getScale());
+            }
+            type.append(')');
+        }
+        return type.toString();
+    }
+}
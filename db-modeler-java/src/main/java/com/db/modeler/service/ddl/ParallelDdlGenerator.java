@@ -0,0 +1,57 @@
+package com.db.modeler.service.ddl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 并行生成 DDL 文本
+ *
+ * DDL 生成是纯 CPU 计算，在独立的 ForkJoinPool 中并行执行，不占用公共池。
+ * 结果顺序与输入顺序一致；表数量低于阈值时直接在调用线程中顺序执行。
+ */
+@Component
+public class ParallelDdlGenerator {
+
+    private final ForkJoinPool pool;
+
+    private final int sequentialThreshold;
+
+    public ParallelDdlGenerator(@Value("${app.ddl.generation-parallelism:0}") int parallelism,
+                                @Value("${app.ddl.generation-sequential-threshold:32}") int sequentialThreshold) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads);
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * 对每个元素执行生成函数，返回与输入顺序一致的结果列表
+     * @param items 输入列表
+     * @param generator 生成函数，必须线程安全
+     * @return 结果列表
+     */
+    public <T, R> List<R> generate(List<T> items, Function<? super T, ? extends R> generator) {
+        if (items.size() < sequentialThreshold || pool.getParallelism() <= 1) {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(generator.apply(item));
+            }
+            return results;
+        }
+        return pool.submit(() -> items.parallelStream()
+                .<R>map(generator)
+                .collect(Collectors.toList()))
+            .join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
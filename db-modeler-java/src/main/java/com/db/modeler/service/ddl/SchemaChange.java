@@ -0,0 +1,138 @@
+package com.db.modeler.service.ddl;
+
+import com.db.modeler.entity.ColumnDefinition;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 表结构的一项变更，由 {@link TableSchemaDiff} 生成
+ */
+public class SchemaChange {
+
+    /**
+     * 变更类型，声明顺序即 ALTER 子句的输出顺序
+     */
+    public enum Type {
+        DROP_INDEX,
+        DROP_PRIMARY_KEY,
+        DROP_COLUMN,
+        RENAME_COLUMN,
+        MODIFY_COLUMN,
+        ADD_COLUMN,
+        ADD_PRIMARY_KEY,
+        ADD_INDEX
+    }
+
+    private final Type type;
+    private final String name;
+    private final String previousName;
+    private final ColumnDefinition column;
+    private final ColumnDefinition previousColumn;
+    private final String afterColumn;
+    private final boolean definitionChanged;
+    private final List<String> indexColumns;
+
+    private SchemaChange(Type type, String name, String previousName, ColumnDefinition column,
+                         ColumnDefinition previousColumn, String afterColumn, boolean definitionChanged,
+                         List<String> indexColumns) {
+        this.type = type;
+        this.name = name;
+        this.previousName = previousName;
+        this.column = column;
+        this.previousColumn = previousColumn;
+        this.afterColumn = afterColumn;
+        this.definitionChanged = definitionChanged;
+        this.indexColumns = indexColumns;
+    }
+
+    static SchemaChange dropColumn(ColumnDefinition previousColumn) {
+        return new SchemaChange(Type.DROP_COLUMN, previousColumn.getCode(), null, null, previousColumn, null, false,
+            Collections.emptyList());
+    }
+
+    static SchemaChange renameColumn(ColumnDefinition previousColumn, ColumnDefinition column, String afterColumn) {
+        return new SchemaChange(Type.RENAME_COLUMN, column.getCode(), previousColumn.getCode(), column,
+            previousColumn, afterColumn, false, Collections.emptyList());
+    }
+
+    static SchemaChange modifyColumn(ColumnDefinition previousColumn, ColumnDefinition column, String afterColumn,
+                                     boolean definitionChanged) {
+        return new SchemaChange(Type.MODIFY_COLUMN, column.getCode(), null, column, previousColumn, afterColumn,
+            definitionChanged, Collections.emptyList());
+    }
+
+    static SchemaChange addColumn(ColumnDefinition column, String afterColumn) {
+        return new SchemaChange(Type.ADD_COLUMN, column.getCode(), null, column, null, afterColumn, true,
+            Collections.emptyList());
+    }
+
+    static SchemaChange dropPrimaryKey() {
+        return new SchemaChange(Type.DROP_PRIMARY_KEY, null, null, null, null, null, false, Collections.emptyList());
+    }
+
+    static SchemaChange addPrimaryKey(List<String> columns) {
+        return new SchemaChange(Type.ADD_PRIMARY_KEY, null, null, null, null, null, false, columns);
+    }
+
+    static SchemaChange dropIndex(String indexName) {
+        return new SchemaChange(Type.DROP_INDEX, indexName, null, null, null, null, false, Collections.emptyList());
+    }
+
+    static SchemaChange addIndex(String indexName, List<String> columns) {
+        return new SchemaChange(Type.ADD_INDEX, indexName, null, null, null, null, false, columns);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * 列名或索引名，主键变更时为 null
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 重命名前的列名
+     */
+    public String getPreviousName() {
+        return previousName;
+    }
+
+    /**
+     * 变更后的列定义，仅列的新增、修改和重命名有值
+     */
+    public ColumnDefinition getColumn() {
+        return column;
+    }
+
+    /**
+     * 变更前的列定义，仅列的删除、修改和重命名有值
+     */
+    public ColumnDefinition getPreviousColumn() {
+        return previousColumn;
+    }
+
+    /**
+     * 列的目标位置：null 表示不调整位置，空字符串表示 FIRST，否则为前一列的列名
+     */
+    public String getAfterColumn() {
+        return afterColumn;
+    }
+
+    /**
+     * 列的类型、长度、可空、默认值或注释是否变化；仅调整位置的修改为 false
+     */
+    public boolean isDefinitionChanged() {
+        return definitionChanged;
+    }
+
+    /**
+     * 主键或索引包含的列
+     */
+    public List<String> getIndexColumns() {
+        return indexColumns;
+    }
+}
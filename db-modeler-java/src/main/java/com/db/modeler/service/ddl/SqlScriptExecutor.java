@@ -0,0 +1,85 @@
+package com.db.modeler.service.ddl;
+
+import com.db.modeler.dto.ScriptExecutionResult;
+import com.db.modeler.dto.ScriptExecutionResult.StatementResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 在一个连接上执行多语句 SQL 脚本
+ *
+ * 脚本由 {@link SqlScriptSplitter} 拆分后逐条执行：DDL 会隐式提交，无法和 DML 一样合并为批次执行，
+ * 逐条执行才能得到每条语句的实际耗时，并在第一条失败的语句处停止，之后的语句不会执行。
+ */
+@Component
+public class SqlScriptExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlScriptExecutor.class);
+
+    // 结果中保留的语句长度，完整语句可能非常长
+    private static final int MAX_REPORTED_SQL_LENGTH = 200;
+
+    /**
+     * 拆分并执行脚本
+     * @param script SQL 脚本
+     * @param connection 目标连接，由调用方管理
+     * @return 执行结果
+     * @throws SQLException 无法在连接上创建 Statement 时
+     */
+    public ScriptExecutionResult execute(String script, Connection connection) throws SQLException {
+        return execute(SqlScriptSplitter.split(script), connection);
+    }
+
+    /**
+     * 按顺序执行已拆分的语句
+     */
+    public ScriptExecutionResult execute(List<String> statements, Connection connection) throws SQLException {
+        ScriptExecutionResult result = new ScriptExecutionResult();
+        result.setTotalStatements(statements.size());
+
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < statements.size(); i++) {
+                String sql = statements.get(i);
+                long statementStart = System.nanoTime();
+                String error = null;
+                try {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    error = e.getMessage();
+                }
+                addStatement(result, i, sql, (System.nanoTime() - statementStart) / 1_000_000, error);
+                if (error != null) {
+                    break;
+                }
+            }
+        }
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        if (!result.isSuccess()) {
+            logger.warn("SQL script stopped after {} of {} statements: {}", result.getExecutedStatements(),
+                result.getTotalStatements(), result.getError());
+        }
+        return result;
+    }
+
+    private void addStatement(ScriptExecutionResult result, int index, String sql, long durationMs, String error) {
+        StatementResult statementResult = new StatementResult();
+        statementResult.setIndex(index);
+        statementResult.setSql(sql.length() > MAX_REPORTED_SQL_LENGTH
+            ? sql.substring(0, MAX_REPORTED_SQL_LENGTH) + "..." : sql);
+        statementResult.setSuccess(error == null);
+        statementResult.setDurationMs(durationMs);
+        statementResult.setError(error);
+        result.getStatements().add(statementResult);
+        result.setExecutedStatements(result.getExecutedStatements() + 1);
+        if (error != null && result.isSuccess()) {
+            result.setError("Statement " + index + " failed: " + error);
+        }
+    }
+}
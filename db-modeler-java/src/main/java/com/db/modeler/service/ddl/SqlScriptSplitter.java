@@ -0,0 +1,130 @@
+package com.db.modeler.service.ddl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 把 SQL 脚本拆分为单条语句
+ *
+ * 单次线性扫描，识别单引号、双引号和反引号中的内容（支持反斜杠转义和连续两个引号），
+ * {@code --}、{@code #} 和 {@code /* *}{@code /} 注释，以及 MySQL 客户端的 {@code DELIMITER} 指令，
+ * 引号和注释中的分隔符不会拆分语句。语句开头的注释被去掉，只有注释的片段不会作为语句返回；
+ * MySQL 的可执行注释 {@code /*! ... *}{@code /} 不是普通注释，会保留在语句中。
+ */
+public final class SqlScriptSplitter {
+
+    private static final String DEFAULT_DELIMITER = ";";
+    private static final String DELIMITER_COMMAND = "DELIMITER";
+
+    private SqlScriptSplitter() {
+    }
+
+    public static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        if (script == null) {
+            return statements;
+        }
+        String delimiter = DEFAULT_DELIMITER;
+        int length = script.length();
+        // 当前语句第一个非注释、非空白字符的位置，-1 表示还没有开始
+        int statementStart = -1;
+        int i = 0;
+        while (i < length) {
+            char c = script.charAt(i);
+            if (statementStart < 0 && isDelimiterCommand(script, i)) {
+                int lineEnd = lineEnd(script, i);
+                String newDelimiter = script.substring(i + DELIMITER_COMMAND.length(), lineEnd).trim();
+                if (!newDelimiter.isEmpty()) {
+                    delimiter = newDelimiter;
+                }
+                i = lineEnd;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                statementStart = statementStart < 0 ? i : statementStart;
+                i = skipQuoted(script, i, c);
+            } else if (c == '#' || (c == '-' && isLineCommentStart(script, i))) {
+                i = lineEnd(script, i);
+            } else if (c == '/' && i + 1 < length && script.charAt(i + 1) == '*') {
+                // MySQL 的可执行注释 /*! ... */ 是语句内容，单独出现时作为一条语句
+                if (statementStart < 0 && i + 2 < length && script.charAt(i + 2) == '!') {
+                    statementStart = i;
+                }
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (script.startsWith(delimiter, i)) {
+                if (statementStart >= 0) {
+                    statements.add(script.substring(statementStart, i).trim());
+                }
+                statementStart = -1;
+                i += delimiter.length();
+            } else {
+                if (statementStart < 0 && !Character.isWhitespace(c)) {
+                    statementStart = i;
+                }
+                i++;
+            }
+        }
+        if (statementStart >= 0) {
+            String last = script.substring(statementStart).trim();
+            if (!last.isEmpty()) {
+                statements.add(last);
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * 返回引号结束后的位置；未闭合时返回脚本末尾
+     */
+    private static int skipQuoted(String script, int start, char quote) {
+        int i = start + 1;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < script.length() && script.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return script.length();
+    }
+
+    /**
+     * MySQL 要求 {@code --} 后跟空白字符才是注释
+     */
+    private static boolean isLineCommentStart(String script, int i) {
+        return i + 1 < script.length() && script.charAt(i + 1) == '-'
+            && (i + 2 == script.length() || Character.isWhitespace(script.charAt(i + 2)));
+    }
+
+    private static boolean isLineStart(String script, int i) {
+        for (int j = i - 1; j >= 0; j--) {
+            char c = script.charAt(j);
+            if (c == '\n') {
+                return true;
+            }
+            if (!Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lineEnd(String script, int i) {
+        int end = script.indexOf('\n', i);
+        return end < 0 ? script.length() : end;
+    }
+
+    private static boolean isDelimiterCommand(String script, int i) {
+        int end = i + DELIMITER_COMMAND.length();
+        return end < script.length()
+            && script.regionMatches(true, i, DELIMITER_COMMAND, 0, DELIMITER_COMMAND.length())
+            && Character.isWhitespace(script.charAt(end))
+            && isLineStart(script, i);
+    }
+}
@@ -0,0 +1,301 @@
+package com.db.modeler.service.ddl;
+
+import com.db.modeler.entity.ColumnDefinition;
+import com.db.modeler.service.compare.SchemaTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 两个版本列定义之间的最小变更集
+ *
+ * 新旧列按列名建立哈希索引，整体为线性时间（列顺序调整为 O(n log n)）。识别以下变更：
+ * - 列的新增、删除、修改，以及位置调整（只移动最长有序子序列之外的列）
+ * - 重命名：被删除的列与新增的列定义完全相同、且这种定义在两侧都唯一时视为重命名
+ * - 主键和索引的增删；索引或主键的列发生变化时先删除再重建
+ * 变更按 {@link SchemaChange.Type} 的声明顺序排列，可直接组成一条 ALTER TABLE 语句。
+ */
+public final class TableSchemaDiff {
+
+    private final List<SchemaChange> changes;
+
+    private TableSchemaDiff(List<SchemaChange> changes) {
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    public static TableSchemaDiff between(List<ColumnDefinition> oldColumns, List<ColumnDefinition> newColumns) {
+        Map<String, ColumnDefinition> oldByCode = indexByCode(oldColumns);
+        Map<String, ColumnDefinition> newByCode = indexByCode(newColumns);
+        Map<String, Integer> oldPositions = new HashMap<>();
+        int position = 0;
+        for (String code : oldByCode.keySet()) {
+            oldPositions.put(code, position++);
+        }
+
+        List<ColumnDefinition> dropped = new ArrayList<>();
+        for (ColumnDefinition column : oldByCode.values()) {
+            if (!newByCode.containsKey(column.getCode())) {
+                dropped.add(column);
+            }
+        }
+        List<ColumnDefinition> added = new ArrayList<>();
+        for (ColumnDefinition column : newByCode.values()) {
+            if (!oldByCode.containsKey(column.getCode())) {
+                added.add(column);
+            }
+        }
+
+        // 重命名：新名 -> 旧名，旧名 -> 新名
+        Map<String, String> renamedFrom = matchRenames(dropped, added);
+        Map<String, String> renamedTo = new HashMap<>();
+        renamedFrom.forEach((newCode, oldCode) -> renamedTo.put(oldCode, newCode));
+
+        Map<SchemaChange.Type, List<SchemaChange>> byType = new EnumMap<>(SchemaChange.Type.class);
+        for (ColumnDefinition column : dropped) {
+            if (!renamedTo.containsKey(column.getCode())) {
+                add(byType, SchemaChange.dropColumn(column));
+            }
+        }
+
+        diffColumns(new ArrayList<>(newByCode.values()), oldByCode, oldPositions, renamedFrom, byType);
+        diffPrimaryKey(oldByCode.values(), newByCode.values(), renamedTo, byType);
+        diffIndexes(oldByCode.values(), newByCode.values(), renamedTo, byType);
+
+        List<SchemaChange> changes = new ArrayList<>();
+        for (List<SchemaChange> group : byType.values()) {
+            changes.addAll(group);
+        }
+        return new TableSchemaDiff(changes);
+    }
+
+    public List<SchemaChange> getChanges() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * 比较列定义（不含主键和索引，它们单独比较）
+     */
+    public static boolean columnsEqual(ColumnDefinition col1, ColumnDefinition col2) {
+        return Objects.equals(col1.getCode(), col2.getCode()) && sameDefinition(col1, col2);
+    }
+
+    private static boolean sameDefinition(ColumnDefinition original1, ColumnDefinition original2) {
+        // 与表结构比较使用相同的规范化，生成的 DDL 相同的列视为未修改
+        ColumnDefinition col1 = SchemaTree.normalizeColumn(original1);
+        ColumnDefinition col2 = SchemaTree.normalizeColumn(original2);
+        return Objects.equals(col1.getDataType(), col2.getDataType()) &&
+               col1.isNullable() == col2.isNullable() &&
+               Objects.equals(col1.getLength(), col2.getLength()) &&
+               Objects.equals(col1.getPrecision(), col2.getPrecision()) &&
+               Objects.equals(col1.getScale(), col2.getScale()) &&
+               Objects.equals(col1.getDefaultValue(), col2.getDefaultValue()) &&
+               Objects.equals(col1.getComment(), col2.getComment());
+    }
+
+    private static void diffColumns(List<ColumnDefinition> newColumns, Map<String, ColumnDefinition> oldByCode,
+                                    Map<String, Integer> oldPositions, Map<String, String> renamedFrom,
+                                    Map<SchemaChange.Type, List<SchemaChange>> byType) {
+        int size = newColumns.size();
+        boolean[] retained = new boolean[size];
+        List<Integer> retainedIndexes = new ArrayList<>();
+        List<Integer> retainedOldPositions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String oldCode = renamedFrom.getOrDefault(newColumns.get(i).getCode(), newColumns.get(i).getCode());
+            Integer oldPosition = oldPositions.get(oldCode);
+            if (oldPosition != null) {
+                retained[i] = true;
+                retainedIndexes.add(i);
+                retainedOldPositions.add(oldPosition);
+            }
+        }
+
+        // 保持相对顺序不变的列不需要移动
+        Set<Integer> stable = new HashSet<>();
+        for (int k : longestIncreasingSubsequence(retainedOldPositions)) {
+            stable.add(retainedIndexes.get(k));
+        }
+
+        boolean[] retainedAfter = new boolean[size + 1];
+        for (int i = size - 1; i >= 0; i--) {
+            retainedAfter[i] = retainedAfter[i + 1] || retained[i];
+        }
+
+        String previous = null;
+        String previousRetained = null;
+        for (int i = 0; i < size; i++) {
+            ColumnDefinition column = newColumns.get(i);
+            String code = column.getCode();
+            if (!retained[i]) {
+                // 追加在所有保留列之后的新列不需要指定位置
+                String after = retainedAfter[i + 1] ? (previous == null ? "" : previous) : null;
+                add(byType, SchemaChange.addColumn(column, after));
+            } else {
+                String oldCode = renamedFrom.getOrDefault(code, code);
+                boolean moved = !stable.contains(i);
+                String after = moved ? (previousRetained == null ? "" : previousRetained) : null;
+                if (renamedFrom.containsKey(code)) {
+                    add(byType, SchemaChange.renameColumn(oldByCode.get(oldCode), column, after));
+                } else {
+                    ColumnDefinition oldColumn = oldByCode.get(oldCode);
+                    boolean changed = !sameDefinition(oldColumn, column);
+                    if (changed || moved) {
+                        add(byType, SchemaChange.modifyColumn(oldColumn, column, after, changed));
+                    }
+                }
+                previousRetained = code;
+            }
+            previous = code;
+        }
+    }
+
+    private static void diffPrimaryKey(Iterable<ColumnDefinition> oldColumns, Iterable<ColumnDefinition> newColumns,
+                                       Map<String, String> renamedTo,
+                                       Map<SchemaChange.Type, List<SchemaChange>> byType) {
+        List<String> oldPrimaryKey = new ArrayList<>();
+        for (ColumnDefinition column : oldColumns) {
+            if (column.isPrimaryKey()) {
+                oldPrimaryKey.add(renamedTo.getOrDefault(column.getCode(), column.getCode()));
+            }
+        }
+        List<String> newPrimaryKey = new ArrayList<>();
+        for (ColumnDefinition column : newColumns) {
+            if (column.isPrimaryKey()) {
+                newPrimaryKey.add(column.getCode());
+            }
+        }
+        if (oldPrimaryKey.equals(newPrimaryKey)) {
+            return;
+        }
+        if (!oldPrimaryKey.isEmpty()) {
+            add(byType, SchemaChange.dropPrimaryKey());
+        }
+        if (!newPrimaryKey.isEmpty()) {
+            add(byType, SchemaChange.addPrimaryKey(newPrimaryKey));
+        }
+    }
+
+    private static void diffIndexes(Iterable<ColumnDefinition> oldColumns, Iterable<ColumnDefinition> newColumns,
+                                    Map<String, String> renamedTo,
+                                    Map<SchemaChange.Type, List<SchemaChange>> byType) {
+        Map<String, List<String>> oldIndexes = indexColumns(oldColumns, renamedTo);
+        Map<String, List<String>> newIndexes = indexColumns(newColumns);
+        for (Map.Entry<String, List<String>> entry : oldIndexes.entrySet()) {
+            if (!entry.getValue().equals(newIndexes.get(entry.getKey()))) {
+                add(byType, SchemaChange.dropIndex(entry.getKey()));
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : newIndexes.entrySet()) {
+            if (!entry.getValue().equals(oldIndexes.get(entry.getKey()))) {
+                add(byType, SchemaChange.addIndex(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * 索引名 -> 按列顺序排列的列名；同名索引跨多列时为联合索引
+     */
+    public static Map<String, List<String>> indexColumns(Iterable<ColumnDefinition> columns) {
+        return indexColumns(columns, Collections.emptyMap());
+    }
+
+    private static Map<String, List<String>> indexColumns(Iterable<ColumnDefinition> columns,
+                                                          Map<String, String> rename) {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        for (ColumnDefinition column : columns) {
+            if (column.getIndexes() == null) {
+                continue;
+            }
+            String code = rename.getOrDefault(column.getCode(), column.getCode());
+            for (String indexName : column.getIndexes()) {
+                indexes.computeIfAbsent(indexName, k -> new ArrayList<>()).add(code);
+            }
+        }
+        return indexes;
+    }
+
+    private static Map<String, String> matchRenames(List<ColumnDefinition> dropped, List<ColumnDefinition> added) {
+        if (dropped.isEmpty() || added.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<List<Object>, List<ColumnDefinition>> droppedBySignature = new HashMap<>();
+        for (ColumnDefinition column : dropped) {
+            droppedBySignature.computeIfAbsent(signature(column), k -> new ArrayList<>()).add(column);
+        }
+        Map<List<Object>, List<ColumnDefinition>> addedBySignature = new HashMap<>();
+        for (ColumnDefinition column : added) {
+            addedBySignature.computeIfAbsent(signature(column), k -> new ArrayList<>()).add(column);
+        }
+
+        Map<String, String> renamedFrom = new HashMap<>();
+        for (Map.Entry<List<Object>, List<ColumnDefinition>> entry : addedBySignature.entrySet()) {
+            List<ColumnDefinition> candidates = droppedBySignature.get(entry.getKey());
+            if (entry.getValue().size() == 1 && candidates != null && candidates.size() == 1) {
+                renamedFrom.put(entry.getValue().get(0).getCode(), candidates.get(0).getCode());
+            }
+        }
+        return renamedFrom;
+    }
+
+    private static List<Object> signature(ColumnDefinition column) {
+        return Arrays.asList(column.getDataType(), column.getLength(), column.getPrecision(), column.getScale(),
+            column.isNullable(), column.getDefaultValue(), column.getComment(), column.isPrimaryKey());
+    }
+
+    /**
+     * 返回最长严格递增子序列在输入中的下标，O(n log n)
+     */
+    private static List<Integer> longestIncreasingSubsequence(List<Integer> values) {
+        int size = values.size();
+        int[] tails = new int[size];
+        int[] predecessors = new int[size];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            int value = values.get(i);
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values.get(tails[mid]) < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            predecessors[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        Integer[] result = new Integer[length];
+        for (int k = length - 1, i = length > 0 ? tails[length - 1] : -1; k >= 0; k--, i = predecessors[i]) {
+            result[k] = i;
+        }
+        return Arrays.asList(result);
+    }
+
+    private static Map<String, ColumnDefinition> indexByCode(List<ColumnDefinition> columns) {
+        Map<String, ColumnDefinition> byCode = new LinkedHashMap<>();
+        for (ColumnDefinition column : columns) {
+            byCode.put(column.getCode(), column);
+        }
+        return byCode;
+    }
+
+    private static void add(Map<SchemaChange.Type, List<SchemaChange>> byType, SchemaChange change) {
+        byType.computeIfAbsent(change.getType(), k -> new ArrayList<>()).add(change);
+    }
+}
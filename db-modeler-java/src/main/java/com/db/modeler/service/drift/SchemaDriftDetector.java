@@ -0,0 +1,260 @@
+package com.db.modeler.service.drift;
+
+import com.db.modeler.dto.DriftCheckResult;
+import com.db.modeler.dto.SchemaDiff;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.entity.SchemaDriftReport;
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.exception.ValidationException;
+import com.db.modeler.mapper.DatabaseConfigMapper;
+import com.db.modeler.repository.SchemaDriftReportRepository;
+import com.db.modeler.repository.TableDesignRepository;
+import com.db.modeler.service.compare.SchemaTree;
+import com.db.modeler.service.compare.SchemaTreeBuilder;
+import com.db.modeler.service.compare.SchemaTreeComparator;
+import com.db.modeler.service.connection.TargetHealthMonitor;
+import com.db.modeler.service.reverse.QueryRateLimiter;
+import com.db.modeler.service.sync.SchemaSnapshotStore;
+import com.db.modeler.service.sync.TableSyncEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已同步表设计的结构漂移检测
+ *
+ * 定时检查每个项目的同步目标（第一个 ACTIVE 的数据库配置），按反向工程的方式分批提取已同步表的实际结构，
+ * 与表设计的哈希树节点（按表缓存）比较。不一致或缺失的表重置为未同步并记录漂移报告，一致的表清除旧报告。
+ * 同步以结构快照为基准生成 DDL，因此不一致的表的快照替换为实际结构（下次同步生成 ALTER），缺失的表删除快照（生成 CREATE）。
+ * 元数据查询按 {@code app.drift.max-queries-per-second} 限速，已知不可用的目标跳过。
+ */
+@Component
+public class SchemaDriftDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaDriftDetector.class);
+
+    // 每条 UPDATE/INSERT/DELETE 的最大行数
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    @Autowired
+    private DatabaseConfigMapper databaseConfigMapper;
+
+    @Autowired
+    private TableDesignRepository tableDesignRepository;
+
+    @Autowired
+    private SchemaDriftReportRepository schemaDriftReportRepository;
+
+    @Autowired
+    private SchemaTreeBuilder schemaTreeBuilder;
+
+    @Autowired
+    private TableSyncEngine tableSyncEngine;
+
+    @Autowired
+    private SchemaSnapshotStore schemaSnapshotStore;
+
+    @Autowired
+    private TargetHealthMonitor targetHealthMonitor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.drift.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.drift.max-queries-per-second:2}")
+    private double maxQueriesPerSecond;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 正在检查的数据库配置，定时检查和手动检查不会同时进行
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    public SchemaDriftDetector(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.drift.interval-ms:3600000}",
+        initialDelayString = "${app.drift.initial-delay-ms:300000}")
+    public void detectDrift() {
+        if (!enabled) {
+            return;
+        }
+        List<DatabaseConfig> configs;
+        try {
+            configs = databaseConfigMapper.selectActive();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load database configs for drift detection", e);
+            return;
+        }
+        for (DatabaseConfig config : configs) {
+            try {
+                if (!isSyncTarget(config)) {
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to resolve the sync target of project {}", config.getProjectId(), e);
+                continue;
+            }
+            if (targetHealthMonitor.isDown(config.getId())) {
+                logger.debug("Skipping drift detection for database config {}: target is down", config.getId());
+                continue;
+            }
+            DriftCheckResult result = check(config);
+            if (!result.isSuccess()) {
+                logger.warn("Drift detection failed for database config {}: {}", config.getId(), result.getError());
+            }
+        }
+    }
+
+    /**
+     * 立即检查一个数据库配置，必须是其项目的同步目标
+     */
+    public DriftCheckResult check(DatabaseConfig config) {
+        if (!isSyncTarget(config)) {
+            throw new ValidationException("Database config " + config.getId()
+                + " is not the sync target of project " + config.getProjectId());
+        }
+        DriftCheckResult result = new DriftCheckResult();
+        result.setConfigId(config.getId());
+        result.setProjectId(config.getProjectId());
+        result.setCheckedAt(LocalDateTime.now());
+        if (!running.add(config.getId())) {
+            result.setError("Drift detection is already running for this database config");
+            return result;
+        }
+        long start = System.nanoTime();
+        try {
+            detect(config, result);
+        } catch (RuntimeException e) {
+            logger.warn("Drift detection failed for database config {}", config.getId(), e);
+            result.setError(e.getMessage());
+        } finally {
+            running.remove(config.getId());
+            result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        }
+        return result;
+    }
+
+    public List<SchemaDriftReport> getProjectReports(UUID projectId) {
+        return schemaDriftReportRepository.findByProjectId(projectId);
+    }
+
+    private void detect(DatabaseConfig config, DriftCheckResult result) {
+        List<TableDesign> designs = tableDesignRepository.findSyncedByProjectId(config.getProjectId());
+        result.setCheckedTables(designs.size());
+        if (designs.isEmpty()) {
+            return;
+        }
+        Map<String, TableDesign> designsByCode = new HashMap<>();
+        for (TableDesign design : designs) {
+            designsByCode.put(design.getCode(), design);
+        }
+
+        QueryRateLimiter limiter = new QueryRateLimiter(maxQueriesPerSecond);
+        SchemaTree live = schemaTreeBuilder.fromDatabase(config, designsByCode::containsKey, limiter);
+        result.setQueries(limiter.getAcquired());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SchemaDriftReport> reports = new ArrayList<>();
+        List<UUID> clean = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        Map<UUID, SchemaTree.TableNode> modified = new HashMap<>();
+        for (TableDesign design : designs) {
+            SchemaTree.TableNode designNode;
+            try {
+                designNode = schemaTreeBuilder.designNode(design);
+            } catch (ValidationException e) {
+                logger.warn("Skipping drift detection for table {}: {}", design.getCode(), e.getMessage());
+                continue;
+            }
+            SchemaTree.TableNode liveNode = live.getTables().get(design.getCode());
+            if (liveNode == null) {
+                reports.add(report(config, design, SchemaDriftReport.DriftType.MISSING, null, now));
+                missing.add(design.getId());
+            } else if (!designNode.getHash().equals(liveNode.getHash())) {
+                SchemaDiff.TableDiff diff = SchemaTreeComparator.compareTables(designNode, liveNode);
+                reports.add(report(config, design, SchemaDriftReport.DriftType.MODIFIED, toJson(diff), now));
+                modified.put(design.getId(), liveNode);
+            } else {
+                clean.add(design.getId());
+            }
+        }
+
+        List<UUID> drifted = new ArrayList<>(reports.size());
+        for (SchemaDriftReport report : reports) {
+            drifted.add(report.getTableId());
+        }
+        String target = config.getId().toString();
+        transactionTemplate.executeWithoutResult(status -> {
+            schemaSnapshotStore.deleteSnapshots(missing, target);
+            for (Map.Entry<UUID, SchemaTree.TableNode> entry : modified.entrySet()) {
+                SchemaTree.TableNode liveNode = entry.getValue();
+                schemaSnapshotStore.replace(entry.getKey(), target, liveNode.getCode(), liveNode.getColumns());
+            }
+            for (int from = 0; from < reports.size(); from += WRITE_BATCH_SIZE) {
+                int to = Math.min(from + WRITE_BATCH_SIZE, reports.size());
+                tableDesignRepository.updateSyncStatusByIds(drifted.subList(from, to), false);
+                schemaDriftReportRepository.batchUpsert(reports.subList(from, to));
+            }
+            for (int from = 0; from < clean.size(); from += WRITE_BATCH_SIZE) {
+                schemaDriftReportRepository.deleteByConfigIdAndTableIds(config.getId(),
+                    clean.subList(from, Math.min(from + WRITE_BATCH_SIZE, clean.size())));
+            }
+        });
+
+        for (SchemaDriftReport report : reports) {
+            if (report.getDriftType() == SchemaDriftReport.DriftType.MISSING) {
+                result.setMissingTables(result.getMissingTables() + 1);
+            } else {
+                result.setDriftedTables(result.getDriftedTables() + 1);
+            }
+        }
+        if (!reports.isEmpty()) {
+            logger.info("Detected drift in {} of {} synced tables on database config {} ({} missing)",
+                reports.size(), designs.size(), config.getId(), result.getMissingTables());
+        }
+    }
+
+    private boolean isSyncTarget(DatabaseConfig config) {
+        return config.getId().toString().equals(tableSyncEngine.resolveTarget(config.getProjectId()));
+    }
+
+    private SchemaDriftReport report(DatabaseConfig config, TableDesign design, SchemaDriftReport.DriftType type,
+                                     String details, LocalDateTime now) {
+        SchemaDriftReport report = new SchemaDriftReport();
+        report.setConfigId(config.getId());
+        report.setTableId(design.getId());
+        report.setProjectId(design.getProjectId());
+        report.setTableCode(design.getCode());
+        report.setDriftType(type);
+        report.setDetails(details);
+        report.setDetectedAt(now);
+        return report;
+    }
+
+    private String toJson(SchemaDiff.TableDiff diff) {
+        try {
+            return objectMapper.writeValueAsString(diff);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize drift of table " + diff.getTableCode(), e);
+        }
+    }
+}
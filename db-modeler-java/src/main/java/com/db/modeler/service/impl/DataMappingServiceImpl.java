@@ -1,40 +1,114 @@
 package com.db.modeler.service.impl;
 
+import com.db.modeler.dto.DataMappingRunResult;
 import com.db.modeler.entity.DataMapping;
+import com.db.modeler.exception.IllegalOperationException;
+import com.db.modeler.exception.ResourceNotFoundException;
+import com.db.modeler.exception.ValidationException;
+import com.db.modeler.mapper.DataMappingMapper;
 import com.db.modeler.service.DataMappingService;
+import com.db.modeler.service.mapping.DataMappingExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class DataMappingServiceImpl implements DataMappingService {
+
+    @Autowired
+    private DataMappingMapper dataMappingMapper;
+
+    @Autowired
+    private DataMappingExecutor dataMappingExecutor;
+
     @Override
+    @Transactional
     public DataMapping createDataMapping(DataMapping dataMapping) {
-        // Implementation logic
-        return null;
+        validateDataMapping(dataMapping);
+        dataMapping.setId(UUID.randomUUID());
+        if (dataMapping.getStatus() == null) {
+            dataMapping.setStatus(DataMapping.Status.DRAFT);
+        }
+        if (dataMapping.getIsActive() == null) {
+            dataMapping.setIsActive(true);
+        }
+        dataMapping.setExecutionCount(0);
+        dataMapping.setSuccessCount(0);
+        dataMapping.setFailureCount(0);
+        dataMapping.setLastExecutionTime(null);
+        dataMappingMapper.insertDataMapping(dataMapping);
+        return dataMapping;
     }
 
     @Override
     public DataMapping getDataMappingById(UUID dataMappingId) {
-        // Implementation logic
-        return null;
+        DataMapping dataMapping = dataMappingMapper.findDataMappingById(dataMappingId);
+        if (dataMapping == null) {
+            throw new ResourceNotFoundException("Data mapping not found with id: " + dataMappingId);
+        }
+        return dataMapping;
     }
 
     @Override
     public List<DataMapping> getAllDataMappings() {
-        // Implementation logic
-        return null;
+        return dataMappingMapper.findAllDataMappings();
     }
 
     @Override
+    @Transactional
     public DataMapping updateDataMapping(DataMapping dataMapping) {
-        // Implementation logic
-        return null;
+        if (dataMapping.getId() == null) {
+            throw new ValidationException("Data mapping ID cannot be null for update");
+        }
+        validateDataMapping(dataMapping);
+        DataMapping existing = getDataMappingById(dataMapping.getId());
+        // 执行计数只由执行累加，不接受客户端修改
+        dataMapping.setExecutionCount(existing.getExecutionCount());
+        dataMapping.setSuccessCount(existing.getSuccessCount());
+        dataMapping.setFailureCount(existing.getFailureCount());
+        dataMapping.setLastExecutionTime(existing.getLastExecutionTime());
+        if (dataMapping.getStatus() == null) {
+            dataMapping.setStatus(existing.getStatus());
+        }
+        if (dataMapping.getIsActive() == null) {
+            dataMapping.setIsActive(existing.getIsActive());
+        }
+        dataMappingMapper.updateDataMapping(dataMapping);
+        return dataMapping;
     }
 
     @Override
+    @Transactional
     public void deleteDataMapping(UUID dataMappingId) {
-        // Implementation logic
+        getDataMappingById(dataMappingId);
+        dataMappingMapper.deleteDataMapping(dataMappingId);
+    }
+
+    @Override
+    public DataMappingRunResult executeDataMapping(UUID dataMappingId) {
+        DataMapping dataMapping = getDataMappingById(dataMappingId);
+        if (Boolean.FALSE.equals(dataMapping.getIsActive())) {
+            throw new IllegalOperationException("Cannot execute inactive data mapping: " + dataMappingId);
+        }
+        DataMappingRunResult result = dataMappingExecutor.execute(dataMapping);
+        dataMappingMapper.recordExecution(dataMappingId, result.isSuccess(), new Date());
+        return result;
+    }
+
+    private void validateDataMapping(DataMapping dataMapping) {
+        if (!StringUtils.hasText(dataMapping.getName())) {
+            throw new ValidationException("Data mapping name is required");
+        }
+        if (dataMapping.getType() == null) {
+            throw new ValidationException("Data mapping type is required");
+        }
+        if (dataMapping.getSourceType() == null || dataMapping.getTargetType() == null) {
+            throw new ValidationException("Data mapping source type and target type are required");
+        }
     }
 }
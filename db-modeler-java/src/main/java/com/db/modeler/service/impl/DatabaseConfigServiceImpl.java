@@ -1,16 +1,17 @@
 package com.db.modeler.service.impl;
 
+import com.db.modeler.config.DynamicDataSourceConfig;
+import com.db.modeler.dto.ConnectionProbeResult;
 import com.db.modeler.entity.DatabaseConfig;
 import com.db.modeler.exception.DatabaseConfigValidationException;
 import com.db.modeler.mapper.DatabaseConfigMapper;
 import com.db.modeler.service.DatabaseConfigService;
+import com.db.modeler.service.connection.ConnectionProbe;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
@@ -23,6 +24,12 @@ public class DatabaseConfigServiceImpl implements DatabaseConfigService {
     @Autowired
     private DatabaseConfigMapper databaseConfigMapper;
 
+    @Autowired
+    private DynamicDataSourceConfig dynamicDataSourceConfig;
+
+    @Autowired
+    private ConnectionProbe connectionProbe;
+
     @Override
     @Transactional
     public DatabaseConfig createDatabaseConfig(DatabaseConfig config) {
@@ -76,6 +83,8 @@ public class DatabaseConfigServiceImpl implements DatabaseConfigService {
         
         config.setUpdatedAt(Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()));
         databaseConfigMapper.update(config);
+        // 连接信息变化时关闭旧连接池，下次使用时按新配置重建
+        dynamicDataSourceConfig.refreshDataSource(config);
         return config;
     }
 
@@ -90,6 +99,8 @@ public class DatabaseConfigServiceImpl implements DatabaseConfigService {
             throw new DatabaseConfigValidationException("id", "Database configuration not found");
         }
         databaseConfigMapper.deleteById(id);
+        dynamicDataSourceConfig.removeDataSource(id);
+        connectionProbe.evict(id);
     }
 
     @Override
@@ -98,31 +109,28 @@ public class DatabaseConfigServiceImpl implements DatabaseConfigService {
         if (projectId == null) {
             throw new DatabaseConfigValidationException("projectId", "Project ID cannot be null");
         }
+        List<DatabaseConfig> configs = databaseConfigMapper.selectByProjectId(projectId);
         databaseConfigMapper.deleteByProjectId(projectId);
+        for (DatabaseConfig config : configs) {
+            dynamicDataSourceConfig.removeDataSource(config.getId());
+            connectionProbe.evict(config.getId());
+        }
     }
 
     @Override
     public boolean testDatabaseConnection(DatabaseConfig config) {
+        return probeDatabaseConnection(config, false).isSuccess();
+    }
+
+    @Override
+    public ConnectionProbeResult probeDatabaseConnection(DatabaseConfig config, boolean refresh) {
         validateDatabaseConfig(config);
-        String url = buildJdbcUrl(config);
-        try (Connection conn = DriverManager.getConnection(url, config.getUsername(), config.getPassword())) {
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return connectionProbe.probe(config, refresh);
     }
 
-    private String buildJdbcUrl(DatabaseConfig config) {
-        return switch (config.getType()) {
-            case MYSQL -> String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=UTC",
-                    config.getHost(), config.getPort(), config.getDatabaseName());
-            case POSTGRESQL -> String.format("jdbc:postgresql://%s:%d/%s",
-                    config.getHost(), config.getPort(), config.getDatabaseName());
-            case ORACLE -> String.format("jdbc:oracle:thin:@%s:%d:%s",
-                    config.getHost(), config.getPort(), config.getDatabaseName());
-            case SQLSERVER -> String.format("jdbc:sqlserver://%s:%d;databaseName=%s",
-                    config.getHost(), config.getPort(), config.getDatabaseName());
-        };
+    @Override
+    public List<ConnectionProbeResult> testProjectConnections(UUID projectId, boolean refresh) {
+        return connectionProbe.probeAll(getDatabaseConfigsByProjectId(projectId), refresh);
     }
 
     private void validateDatabaseConfig(DatabaseConfig config) {
@@ -1,9 +1,11 @@
 package com.db.modeler.service.impl;
 
 import com.db.modeler.config.DynamicDataSourceConfig;
+import com.db.modeler.dto.ConnectionProbeResult;
 import com.db.modeler.entity.DatabaseConfig;
 import com.db.modeler.exception.DatabaseConnectionException;
 import com.db.modeler.service.DatabaseConnectionService;
+import com.db.modeler.service.connection.ConnectionProbe;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
@@ -14,10 +16,12 @@ import java.util.UUID;
 public class DatabaseConnectionServiceImpl implements DatabaseConnectionService {
     
     private final DynamicDataSourceConfig dataSourceConfig;
+    private final ConnectionProbe connectionProbe;
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(DatabaseConnectionServiceImpl.class);
 
-    public DatabaseConnectionServiceImpl(DynamicDataSourceConfig dataSourceConfig) {
+    public DatabaseConnectionServiceImpl(DynamicDataSourceConfig dataSourceConfig, ConnectionProbe connectionProbe) {
         this.dataSourceConfig = dataSourceConfig;
+        this.connectionProbe = connectionProbe;
     }
 
     @Override
@@ -42,21 +46,11 @@ public class DatabaseConnectionServiceImpl implements DatabaseConnectionService
 
     @Override
     public boolean testConnection(DatabaseConfig config) {
-        try {
-            DataSource dataSource = dataSourceConfig.createDataSource(config);
-            try (Connection conn = dataSource.getConnection()) {
-                boolean valid = conn.isValid(5); // 5 seconds timeout
-                log.info("Connection test {} for database: {}", 
-                    valid ? "successful" : "failed", config.getName());
-                return valid;
-            }
-        } catch (SQLException e) {
-            log.error("Connection test failed for database: {}", config.getName(), e);
-            throw new DatabaseConnectionException("Failed to test database connection", e);
-        } finally {
-            // Clean up the test data source
-            dataSourceConfig.removeDataSource(config.getId());
-        }
+        // 探测不占用连接池，也不创建新的连接池
+        ConnectionProbeResult result = connectionProbe.probe(config);
+        log.info("Connection test {} for database: {} ({} ms)",
+            result.isSuccess() ? "successful" : "failed", config.getName(), result.getLatencyMs());
+        return result.isSuccess();
     }
 
     @Override
@@ -1,18 +1,27 @@
 package com.db.modeler.service.impl;
 
+import com.db.modeler.dto.ScriptExecutionResult;
 import com.db.modeler.entity.ColumnDefinition;
 import com.db.modeler.entity.TableDesign;
 import com.db.modeler.service.DDLGeneratorService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.db.modeler.service.compare.SchemaTree;
+import com.db.modeler.service.ddl.ColumnModelCache;
+import com.db.modeler.service.ddl.OnlineAlterPlan;
+import com.db.modeler.service.ddl.OnlineAlterPolicy;
+import com.db.modeler.service.ddl.SchemaChange;
+import com.db.modeler.service.ddl.SqlScriptExecutor;
+import com.db.modeler.service.ddl.TableSchemaDiff;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 public class MySQLDDLGeneratorServiceImpl implements DDLGeneratorService {
@@ -21,12 +30,15 @@ public class MySQLDDLGeneratorServiceImpl implements DDLGeneratorService {
     private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private ColumnModelCache columnModelCache;
+
+    @Autowired
+    private SqlScriptExecutor sqlScriptExecutor;
 
     @Override
     public String generateCreateTableDDL(TableDesign tableDesign) {
         try {
-            List<ColumnDefinition> columns = parseColumns(tableDesign.getColumns());
+            List<ColumnDefinition> columns = columnModelCache.getColumns(tableDesign);
             if (columns.isEmpty()) {
                 throw new IllegalArgumentException("No columns defined for table: " + tableDesign.getCode());
             }
@@ -37,16 +49,12 @@ public class MySQLDDLGeneratorServiceImpl implements DDLGeneratorService {
             // 添加列定义
             List<String> columnDefs = new ArrayList<>();
             List<String> primaryKeys = new ArrayList<>();
-            List<String> indexes = new ArrayList<>();
 
             for (ColumnDefinition column : columns) {
                 columnDefs.add(generateColumnDefinition(column));
                 if (column.isPrimaryKey()) {
                     primaryKeys.add(column.getCode());
                 }
-                if (column.getIndexes() != null && !column.getIndexes().isEmpty()) {
-                    indexes.addAll(generateIndexDefinitions(tableDesign.getCode(), column));
-                }
             }
 
             // 添加主键约束
@@ -54,6 +62,11 @@ public class MySQLDDLGeneratorServiceImpl implements DDLGeneratorService {
                 columnDefs.add("PRIMARY KEY (" + String.join(", ", primaryKeys) + ")");
             }
 
+            // 索引写在建表语句内，整张表只需一条语句；同名索引跨多列时为联合索引
+            for (Map.Entry<String, List<String>> index : TableSchemaDiff.indexColumns(columns).entrySet()) {
+                columnDefs.add("INDEX " + index.getKey() + " (" + String.join(", ", index.getValue()) + ")");
+            }
+
             ddl.append(String.join(",\n", columnDefs));
             ddl.append("\n)");
 
@@ -64,11 +77,6 @@ public class MySQLDDLGeneratorServiceImpl implements DDLGeneratorService {
 
             ddl.append(";\n");
 
-            // 添加索引
-            if (!indexes.isEmpty()) {
-                ddl.append("\n").append(String.join(";\n", indexes)).append(";");
-            }
-
             return ddl.toString();
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate CREATE TABLE DDL", e);
@@ -78,71 +86,89 @@ public class MySQLDDLGeneratorServiceImpl implements DDLGeneratorService {
     @Override
     public String generateAlterTableDDL(TableDesign oldTableDesign, TableDesign newTableDesign) {
         try {
-            List<ColumnDefinition> oldColumns = parseColumns(oldTableDesign.getColumns());
-            List<ColumnDefinition> newColumns = parseColumns(newTableDesign.getColumns());
+            List<ColumnDefinition> oldColumns = columnModelCache.getColumns(oldTableDesign);
+            List<ColumnDefinition> newColumns = columnModelCache.getColumns(newTableDesign);
 
-            StringBuilder ddl = new StringBuilder();
-            ddl.append("ALTER TABLE ").append(oldTableDesign.getCode()).append("\n");
-
-            List<String> alterClauses = new ArrayList<>();
-
-            // 处理列的变更
-            for (ColumnDefinition newColumn : newColumns) {
-                boolean found = false;
-                for (ColumnDefinition oldColumn : oldColumns) {
-                    if (oldColumn.getCode().equals(newColumn.getCode())) {
-                        found = true;
-                        if (!columnsEqual(oldColumn, newColumn)) {
-                            alterClauses.add("MODIFY COLUMN " + generateColumnDefinition(newColumn));
-                        }
-                        break;
-                    }
-                }
-                if (!found) {
-                    alterClauses.add("ADD COLUMN " + generateColumnDefinition(newColumn));
-                }
+            TableSchemaDiff diff = TableSchemaDiff.between(oldColumns, newColumns);
+            if (diff.isEmpty()) {
+                return ""; // 没有变更
             }
 
-            // 处理需要删除的列
-            for (ColumnDefinition oldColumn : oldColumns) {
-                boolean found = false;
-                for (ColumnDefinition newColumn : newColumns) {
-                    if (oldColumn.getCode().equals(newColumn.getCode())) {
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
-                    alterClauses.add("DROP COLUMN " + oldColumn.getCode());
-                }
+            return generateAlterStatement(oldTableDesign.getCode(), diff) + ";";
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate ALTER TABLE DDL", e);
+        }
+    }
+
+    @Override
+    public OnlineAlterPlan generateOnlineAlterTableDDL(TableDesign oldTableDesign, TableDesign newTableDesign) {
+        try {
+            List<ColumnDefinition> oldColumns = columnModelCache.getColumns(oldTableDesign);
+            List<ColumnDefinition> newColumns = columnModelCache.getColumns(newTableDesign);
+
+            TableSchemaDiff diff = TableSchemaDiff.between(oldColumns, newColumns);
+            if (diff.isEmpty()) {
+                return OnlineAlterPlan.empty();
             }
 
-            if (alterClauses.isEmpty()) {
-                return ""; // 没有变更
+            // 整条语句取限制最多的算法；INSTANT 不允许指定 LOCK，COPY 期间只允许读
+            List<String> copyReasons = new ArrayList<>();
+            OnlineAlterPlan.Algorithm algorithm = OnlineAlterPolicy.requiredAlgorithm(diff, newColumns, copyReasons);
+            String lock;
+            switch (algorithm) {
+                case INSTANT:
+                    lock = null;
+                    break;
+                case INPLACE:
+                    lock = "NONE";
+                    break;
+                default:
+                    lock = "SHARED";
+                    break;
             }
 
-            ddl.append(String.join(",\n", alterClauses));
+            StringBuilder ddl = new StringBuilder(generateAlterStatement(oldTableDesign.getCode(), diff));
+            ddl.append(",\nALGORITHM=").append(algorithm.name());
+            if (lock != null) {
+                ddl.append(", LOCK=").append(lock);
+            }
             ddl.append(";");
 
-            return ddl.toString();
+            return new OnlineAlterPlan(ddl.toString(), algorithm, lock, copyReasons);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to generate ALTER TABLE DDL", e);
+            throw new RuntimeException("Failed to generate online ALTER TABLE DDL", e);
         }
     }
 
+    private String generateAlterStatement(String tableName, TableSchemaDiff diff) {
+        List<String> alterClauses = new ArrayList<>();
+        for (SchemaChange change : diff.getChanges()) {
+            alterClauses.add(generateAlterClause(change));
+        }
+        return "ALTER TABLE " + tableName + "\n" + String.join(",\n", alterClauses);
+    }
+
     @Override
     public void executeDDL(String ddl) {
         if (!StringUtils.hasText(ddl)) {
             return;
         }
-        jdbcTemplate.execute(ddl);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            executeDDL(ddl, connection);
+            return null;
+        });
     }
 
-    private List<ColumnDefinition> parseColumns(String columnsJson) throws Exception {
-        if (!StringUtils.hasText(columnsJson)) {
-            return new ArrayList<>();
+    @Override
+    public void executeDDL(String ddl, Connection connection) throws SQLException {
+        if (!StringUtils.hasText(ddl)) {
+            return;
+        }
+        // 按语句拆分后执行，不依赖驱动的 allowMultiQueries
+        ScriptExecutionResult result = sqlScriptExecutor.execute(ddl, connection);
+        if (!result.isSuccess()) {
+            throw new SQLException(result.getError());
         }
-        return objectMapper.readValue(columnsJson, new TypeReference<List<ColumnDefinition>>() {});
     }
 
     private String generateColumnDefinition(ColumnDefinition column) {
@@ -166,7 +192,8 @@ public class MySQLDDLGeneratorServiceImpl implements DDLGeneratorService {
     }
 
     private String generateDataType(ColumnDefinition column) {
-        String dataType = column.getDataType().toUpperCase();
+        // 与表结构比较使用相同的规范化：大写，带引号的枚举值保持原样
+        String dataType = SchemaTree.normalizeDataType(column.getDataType());
         switch (dataType) {
             case "VARCHAR":
             case "CHAR":
@@ -180,27 +207,35 @@ public class MySQLDDLGeneratorServiceImpl implements DDLGeneratorService {
         }
     }
 
-    private List<String> generateIndexDefinitions(String tableName, ColumnDefinition column) {
-        return column.getIndexes().stream()
-            .map(indexName -> "CREATE INDEX " + indexName + " ON " + 
-                tableName + " (" + column.getCode() + ")")
-            .collect(Collectors.toList());
+    private String generateAlterClause(SchemaChange change) {
+        switch (change.getType()) {
+            case DROP_INDEX:
+                return "DROP INDEX " + change.getName();
+            case DROP_PRIMARY_KEY:
+                return "DROP PRIMARY KEY";
+            case DROP_COLUMN:
+                return "DROP COLUMN " + change.getName();
+            case RENAME_COLUMN:
+                return "CHANGE COLUMN " + change.getPreviousName() + " "
+                    + generateColumnDefinition(change.getColumn()) + generateColumnPosition(change);
+            case MODIFY_COLUMN:
+                return "MODIFY COLUMN " + generateColumnDefinition(change.getColumn()) + generateColumnPosition(change);
+            case ADD_COLUMN:
+                return "ADD COLUMN " + generateColumnDefinition(change.getColumn()) + generateColumnPosition(change);
+            case ADD_PRIMARY_KEY:
+                return "ADD PRIMARY KEY (" + String.join(", ", change.getIndexColumns()) + ")";
+            case ADD_INDEX:
+                return "ADD INDEX " + change.getName() + " (" + String.join(", ", change.getIndexColumns()) + ")";
+            default:
+                throw new IllegalStateException("Unsupported schema change: " + change.getType());
+        }
     }
 
-    private boolean columnsEqual(ColumnDefinition col1, ColumnDefinition col2) {
-        return col1.getCode().equals(col2.getCode()) &&
-               col1.getDataType().equals(col2.getDataType()) &&
-               col1.isNullable() == col2.isNullable() &&
-               ((col1.getLength() == null && col2.getLength() == null) || 
-                (col1.getLength() != null && col1.getLength().equals(col2.getLength()))) &&
-               ((col1.getPrecision() == null && col2.getPrecision() == null) || 
-                (col1.getPrecision() != null && col1.getPrecision().equals(col2.getPrecision()))) &&
-               ((col1.getScale() == null && col2.getScale() == null) || 
-                (col1.getScale() != null && col1.getScale().equals(col2.getScale()))) &&
-               ((col1.getDefaultValue() == null && col2.getDefaultValue() == null) || 
-                (col1.getDefaultValue() != null && col1.getDefaultValue().equals(col2.getDefaultValue()))) &&
-               ((col1.getComment() == null && col2.getComment() == null) || 
-                (col1.getComment() != null && col1.getComment().equals(col2.getComment())));
+    private String generateColumnPosition(SchemaChange change) {
+        if (change.getAfterColumn() == null) {
+            return "";
+        }
+        return change.getAfterColumn().isEmpty() ? " FIRST" : " AFTER " + change.getAfterColumn();
     }
 
     private String escapeString(String str) {
@@ -1,16 +1,67 @@
 package com.db.modeler.service.impl;
 
+import com.db.modeler.dto.ExtractedSchema;
+import com.db.modeler.dto.SchemaImportProgress;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.exception.ValidationException;
+import com.db.modeler.service.DatabaseConfigService;
 import com.db.modeler.service.ReverseEngineeringService;
+import com.db.modeler.service.reverse.SchemaExtractor;
+import com.db.modeler.service.reverse.SchemaImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class ReverseEngineeringServiceImpl implements ReverseEngineeringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReverseEngineeringServiceImpl.class);
+
+    @Autowired
+    private DatabaseConfigService databaseConfigService;
+
+    @Autowired
+    private SchemaExtractor schemaExtractor;
+
+    @Autowired
+    private SchemaImporter schemaImporter;
+
     @Override
-    public List<String> extractDatabaseSchema(String connectionId, String projectId) {
-        // Implementation logic
-        return new ArrayList<>();
+    public ExtractedSchema extractDatabaseSchema(String connectionId, String projectId) {
+        UUID projectUuid = parseId(projectId, "projectId");
+        DatabaseConfig config = resolveConfig(parseId(connectionId, "connectionId"), projectUuid);
+
+        ExtractedSchema schema = schemaExtractor.extract(config, projectUuid);
+        logger.info("Extracted {} tables and {} relations from {} in {} ms", schema.getTableCount(),
+            schema.getRelationCount(), config.getDatabaseName(), schema.getDurationMs());
+        return schema;
+    }
+
+    @Override
+    public SchemaImportProgress importDatabaseSchema(String connectionId, String projectId, boolean incremental,
+                                                     Consumer<SchemaImportProgress> listener) {
+        UUID projectUuid = parseId(projectId, "projectId");
+        DatabaseConfig config = resolveConfig(parseId(connectionId, "connectionId"), projectUuid);
+        return schemaImporter.importSchema(config, projectUuid, incremental, listener);
+    }
+
+    private DatabaseConfig resolveConfig(UUID configId, UUID projectId) {
+        DatabaseConfig config = databaseConfigService.getDatabaseConfig(configId);
+        if (!projectId.equals(config.getProjectId())) {
+            throw new ValidationException("Database config " + configId + " does not belong to project " + projectId);
+        }
+        return config;
+    }
+
+    private UUID parseId(String id, String name) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ValidationException("Invalid " + name + ": " + id);
+        }
     }
 }
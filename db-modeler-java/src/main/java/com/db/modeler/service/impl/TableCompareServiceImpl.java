@@ -1,16 +1,128 @@
 package com.db.modeler.service.impl;
 
+import com.db.modeler.dto.SchemaDiff;
+import com.db.modeler.dto.SchemaMatrix;
+import com.db.modeler.dto.SchemaMatrixEvent;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.entity.Project;
+import com.db.modeler.exception.ResourceNotFoundException;
+import com.db.modeler.exception.ValidationException;
+import com.db.modeler.mapper.DatabaseConfigMapper;
+import com.db.modeler.mapper.ProjectMapper;
+import com.db.modeler.repository.TableDesignRepository;
 import com.db.modeler.service.TableCompareService;
+import com.db.modeler.service.compare.SchemaTree;
+import com.db.modeler.service.compare.SchemaTreeBuilder;
+import com.db.modeler.service.compare.SchemaMatrixComparator;
+import com.db.modeler.service.compare.SchemaTreeComparator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class TableCompareServiceImpl implements TableCompareService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableCompareServiceImpl.class);
+
+    @Autowired
+    private DatabaseConfigMapper databaseConfigMapper;
+
+    @Autowired
+    private ProjectMapper projectMapper;
+
+    @Autowired
+    private TableDesignRepository tableDesignRepository;
+
+    @Autowired
+    private SchemaTreeBuilder schemaTreeBuilder;
+
+    @Autowired
+    private SchemaMatrixComparator schemaMatrixComparator;
+
+    @Value("${app.compare.max-environments:8}")
+    private int maxEnvironments;
+
     @Override
-    public List<String> compareTableSchemas(String sourceId, String targetId) {
-        // Implementation logic
-        return new ArrayList<>();
+    public SchemaDiff compareTableSchemas(String sourceId, String targetId) {
+        long start = System.nanoTime();
+        SchemaTree source = resolveTree(parseId(sourceId, "sourceId"));
+        SchemaTree target = resolveTree(parseId(targetId, "targetId"));
+        SchemaDiff diff = SchemaTreeComparator.compare(source, target);
+        diff.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Compared schemas {} and {}: {} of {}/{} tables differ in {} ms", sourceId, targetId,
+            diff.getTables().size(), diff.getSourceTableCount(), diff.getTargetTableCount(), diff.getDurationMs());
+        return diff;
+    }
+
+    @Override
+    public SchemaMatrix compareEnvironments(List<String> ids, Consumer<SchemaMatrixEvent> listener) {
+        Set<UUID> environmentIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            environmentIds.add(parseId(id, "id"));
+        }
+        if (environmentIds.size() < 2 || environmentIds.size() > maxEnvironments) {
+            throw new ValidationException("Between 2 and " + maxEnvironments + " distinct ids are required");
+        }
+
+        // 先确认每个ID都存在，提取在比较开始后才进行
+        List<SchemaMatrix.Environment> environments = new ArrayList<>(environmentIds.size());
+        Map<String, DatabaseConfig> configs = new HashMap<>();
+        for (UUID id : environmentIds) {
+            SchemaMatrix.Environment environment = new SchemaMatrix.Environment();
+            environment.setId(id.toString());
+            DatabaseConfig config = databaseConfigMapper.selectById(id);
+            if (config != null) {
+                environment.setName(config.getName());
+                configs.put(environment.getId(), config);
+            } else {
+                Project project = projectMapper.findProjectById(id);
+                if (project == null) {
+                    throw new ResourceNotFoundException("No project or database config found with id: " + id);
+                }
+                environment.setName(project.getName());
+            }
+            environments.add(environment);
+        }
+
+        return schemaMatrixComparator.compare(environments, id -> {
+            DatabaseConfig config = configs.get(id);
+            if (config != null) {
+                return schemaTreeBuilder.fromDatabase(config);
+            }
+            return schemaTreeBuilder.fromDesigns(tableDesignRepository.findByProjectId(UUID.fromString(id)));
+        }, listener);
+    }
+
+    /**
+     * 数据库配置ID对应实际数据库，项目ID对应项目中的表设计
+     */
+    private SchemaTree resolveTree(UUID id) {
+        DatabaseConfig config = databaseConfigMapper.selectById(id);
+        if (config != null) {
+            return schemaTreeBuilder.fromDatabase(config);
+        }
+        if (projectMapper.findProjectById(id) != null) {
+            return schemaTreeBuilder.fromDesigns(tableDesignRepository.findByProjectId(id));
+        }
+        throw new ResourceNotFoundException("No project or database config found with id: " + id);
+    }
+
+    private UUID parseId(String id, String name) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ValidationException("Invalid " + name + ": " + id);
+        }
     }
 }
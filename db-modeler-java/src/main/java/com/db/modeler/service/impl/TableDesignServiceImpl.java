@@ -1,14 +1,26 @@
 package com.db.modeler.service.impl;
 
+import com.db.modeler.dto.ScriptExecutionResult;
+import com.db.modeler.dto.TableSyncResult;
 import com.db.modeler.entity.TableDesign;
 import com.db.modeler.repository.TableDesignRepository;
 import com.db.modeler.service.TableDesignService;
 import com.db.modeler.service.DDLGeneratorService;
+import com.db.modeler.service.ddl.ColumnModelCache;
+import com.db.modeler.service.ddl.ParallelDdlGenerator;
+import com.db.modeler.service.ddl.SqlScriptExecutor;
+import com.db.modeler.service.sync.DdlExecutionPlan;
+import com.db.modeler.service.sync.DdlExecutionPlanBuilder;
+import com.db.modeler.service.sync.SchemaSnapshotStore;
+import com.db.modeler.service.sync.TableSyncEngine;
+import com.db.modeler.service.sync.TargetDataSourceResolver;
 import com.db.modeler.exception.ResourceNotFoundException;
 import com.db.modeler.exception.ValidationException;
 import com.db.modeler.exception.DDLExecutionException;
+import com.db.modeler.exception.IllegalOperationException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -24,14 +36,36 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.time.LocalDateTime;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Consumer;
 
 @Service
 public class TableDesignServiceImpl implements TableDesignService {
     
     private static final Logger logger = LoggerFactory.getLogger(TableDesignServiceImpl.class);
+
+    // 线程安全，所有JSON校验共用
+    private static final ObjectReader JSON_READER = new ObjectMapper().reader();
+
+    // IN 列表查询每批最多的ID数
+    private static final int ID_BATCH_SIZE = 1000;
+
+    // 导出时每批加载的完整表设计数
+    private static final int EXPORT_BATCH_SIZE = 200;
     
     @Autowired
     private TableDesignRepository tableDesignRepository;
@@ -39,6 +73,28 @@ public class TableDesignServiceImpl implements TableDesignService {
     @Autowired
     private DDLGeneratorService ddlGeneratorService;
 
+    @Autowired
+    private TableSyncEngine tableSyncEngine;
+
+    @Autowired
+    private DdlExecutionPlanBuilder ddlExecutionPlanBuilder;
+
+    @Autowired
+    private ColumnModelCache columnModelCache;
+
+    @Autowired
+    private ParallelDdlGenerator parallelDdlGenerator;
+
+    @Autowired
+    private SchemaSnapshotStore schemaSnapshotStore;
+
+    @Autowired
+    private TargetDataSourceResolver targetDataSourceResolver;
+
+    @Autowired
+    private SqlScriptExecutor sqlScriptExecutor;
+
+
     @Override
     @Transactional
     public TableDesign createTableDesign(TableDesign tableDesign) {
@@ -84,6 +140,41 @@ public class TableDesignServiceImpl implements TableDesignService {
         return tableDesignRepository.findByProjectId(projectId);
     }
 
+    @Override
+    public List<TableDesign> getTableDesignsByIds(Collection<UUID> tableDesignIds) {
+        List<TableDesign> tableDesigns = new ArrayList<>();
+        if (tableDesignIds == null || tableDesignIds.isEmpty()) {
+            return tableDesigns;
+        }
+        // 按 IN 列表分批加载，结果按传入顺序返回，不存在的ID被忽略
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(tableDesignIds));
+        for (List<UUID> batch : partition(ids, ID_BATCH_SIZE)) {
+            Map<UUID, TableDesign> loaded = new HashMap<>();
+            for (TableDesign tableDesign : tableDesignRepository.findByIds(batch)) {
+                loaded.put(tableDesign.getId(), tableDesign);
+            }
+            for (UUID id : batch) {
+                TableDesign tableDesign = loaded.get(id);
+                if (tableDesign != null) {
+                    tableDesigns.add(tableDesign);
+                }
+            }
+        }
+        return tableDesigns;
+    }
+
+    @Override
+    public Set<UUID> getExistingTableDesignIds(Collection<UUID> tableDesignIds) {
+        Set<UUID> existingIds = new HashSet<>();
+        if (tableDesignIds == null || tableDesignIds.isEmpty()) {
+            return existingIds;
+        }
+        for (List<UUID> batch : partition(new ArrayList<>(new HashSet<>(tableDesignIds)), ID_BATCH_SIZE)) {
+            existingIds.addAll(tableDesignRepository.findExistingIds(batch));
+        }
+        return existingIds;
+    }
+
     @Override
     @Transactional
     public TableDesign updateTableDesign(TableDesign tableDesign) {
@@ -118,7 +209,9 @@ public class TableDesignServiceImpl implements TableDesignService {
     @Transactional
     public void deleteTableDesign(UUID tableDesignId) {
         getTableDesignById(tableDesignId); // Check if exists
+        schemaSnapshotStore.deleteSnapshots(tableDesignId);
         tableDesignRepository.deleteById(tableDesignId);
+        columnModelCache.evict(tableDesignId);
     }
 
     private void validateTableDesign(TableDesign tableDesign) {
@@ -137,8 +230,7 @@ public class TableDesignServiceImpl implements TableDesignService {
         // 验证元数据格式
         if (StringUtils.hasText(tableDesign.getMetadata())) {
             try {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode metadata = mapper.readTree(tableDesign.getMetadata());
+                JsonNode metadata = JSON_READER.readTree(tableDesign.getMetadata());
                 
                 // 验证必需的元数据字段
                 validateMetadataField(metadata, "dbType", "Database type");
@@ -160,8 +252,7 @@ public class TableDesignServiceImpl implements TableDesignService {
         // 验证列定义格式
         if (StringUtils.hasText(tableDesign.getColumns())) {
             try {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode columns = mapper.readTree(tableDesign.getColumns());
+                JsonNode columns = JSON_READER.readTree(tableDesign.getColumns());
                 
                 // 验证字段数组
                 if (!columns.has("fields") || !columns.get("fields").isArray()) {
@@ -301,117 +392,58 @@ public class TableDesignServiceImpl implements TableDesignService {
     }
 
     @Override
-    @Transactional
     public TableDesign syncToDatabase(UUID tableDesignId) {
         TableDesign tableDesign = getTableDesignById(tableDesignId);
         
         // 验证表是否可以同步
         validateTableForSync(tableDesign);
         
-        try {
-            String ddl;
-            if (tableDesign.isSynced()) {
-                // 如果表已经同步过，生成ALTER TABLE语句
-                TableDesign oldTableDesign = getTableDesignById(tableDesignId);
-                ddl = ddlGeneratorService.generateAlterTableDDL(oldTableDesign, tableDesign);
-            } else {
-                // 如果表还未同步，生成CREATE TABLE语句
-                ddl = ddlGeneratorService.generateCreateTableDDL(tableDesign);
-            }
-            
-            // 执行DDL
-            if (StringUtils.hasText(ddl)) {
-                logger.info("Executing DDL for table {}: {}", tableDesign.getCode(), ddl);
-                ddlGeneratorService.executeDDL(ddl);
-                
-                // 更新同步状态
-                tableDesign.setSynced(true);
-                tableDesignRepository.update(tableDesign);
-                
-                logger.info("Successfully synchronized table {} to database", tableDesign.getCode());
-            } else {
-                logger.info("No changes to synchronize for table {}", tableDesign.getCode());
-            }
-            
-            return tableDesign;
-        } catch (Exception e) {
-            String errorMessage = "Failed to synchronize table " + tableDesign.getCode() + " to database";
-            logger.error(errorMessage, e);
-            throw new DDLExecutionException(errorMessage, e);
+        // 有快照时只执行相对快照的增量 ALTER，成功后更新快照和同步状态
+        TableSyncResult result = tableSyncEngine.syncTables(Collections.singletonList(tableDesign), null).get(0);
+        if (result.getStatus() == TableSyncResult.Status.FAILED) {
+            throw new DDLExecutionException("Failed to synchronize table " + tableDesign.getCode()
+                + " to database: " + result.getError());
         }
+        logger.info("Synchronized table {} to target {}: {}", tableDesign.getCode(), result.getTarget(),
+            result.getStatus());
+        return tableDesign;
     }
 
     @Override
-    @Transactional
-    public List<TableDesign> syncAllTables() {
-        List<TableDesign> allTables = getAllTableDesigns();
-        for (TableDesign table : allTables) {
-            if (!table.isSynced()) {
-                try {
-                    syncToDatabase(table.getId());
-                    logger.info("Successfully synchronized table {} to database", table.getCode());
-                } catch (Exception e) {
-                    logger.error("Failed to synchronize table {} to database", table.getCode(), e);
-                }
-            }
-        }
-        return getAllTableDesigns();
+    public List<TableSyncResult> syncAllTables() {
+        return syncAllTables(null);
+    }
+
+    @Override
+    public List<TableSyncResult> syncAllTables(Consumer<TableSyncResult> listener) {
+        // 不在外层开启事务：每张表的同步状态由同步引擎单独提交
+        List<TableDesign> unsyncedTables = tableDesignRepository.findUnsynced();
+        DdlExecutionPlan plan = ddlExecutionPlanBuilder.build(unsyncedTables);
+        logger.info("Synchronizing {} unsynced tables in {} dependency levels",
+            unsyncedTables.size(), plan.getLevels().size());
+        return tableSyncEngine.syncPlan(plan, listener);
     }
     
     @Override
     public Map<String, String> previewDDL(UUID tableDesignId) {
-        TableDesign tableDesign = getTableDesignById(tableDesignId);
-        Map<String, String> result = new HashMap<>();
-        
-        try {
-            // 验证表结构
-            validateTableForSync(tableDesign);
-            
-            // 生��DDL
-            String ddl;
-            if (tableDesign.isSynced()) {
-                TableDesign oldTableDesign = getTableDesignById(tableDesignId);
-                ddl = ddlGeneratorService.generateAlterTableDDL(oldTableDesign, tableDesign);
-                result.put("type", "ALTER");
-            } else {
-                ddl = ddlGeneratorService.generateCreateTableDDL(tableDesign);
-                result.put("type", "CREATE");
-            }
-            
-            result.put("tableName", tableDesign.getCode());
-            result.put("ddl", ddl);
-            result.put("status", "success");
-        } catch (Exception e) {
-            result.put("status", "error");
-            result.put("error", e.getMessage());
-            logger.error("Failed to generate DDL preview for table {}", tableDesign.getCode(), e);
-        }
-        
-        return result;
+        return previewDDL(tableDesignId, false);
     }
 
     @Override
     public List<Map<String, String>> previewAllDDL() {
-        List<TableDesign> allTables = getAllTableDesigns();
-        List<Map<String, String>> result = new ArrayList<>();
-        
-        for (TableDesign table : allTables) {
-            if (!table.isSynced()) {
-                try {
-                    Map<String, String> ddlPreview = previewDDL(table.getId());
-                    result.add(ddlPreview);
-                } catch (Exception e) {
-                    Map<String, String> errorResult = new HashMap<>();
-                    errorResult.put("tableName", table.getCode());
-                    errorResult.put("status", "error");
-                    errorResult.put("error", e.getMessage());
-                    result.add(errorResult);
-                    logger.error("Failed to generate DDL preview for table {}", table.getCode(), e);
-                }
-            }
-        }
-        
-        return result;
+        return previewAllDDL(false);
+    }
+
+    @Override
+    public Map<String, String> previewDDL(UUID tableDesignId, boolean live) {
+        TableDesign tableDesign = getTableDesignById(tableDesignId);
+        return tableSyncEngine.previewSyncDDL(Collections.singletonList(tableDesign), live).get(0);
+    }
+
+    @Override
+    public List<Map<String, String>> previewAllDDL(boolean live) {
+        // 一次查询加载全部未同步的表，直接基于已加载的对象生成 DDL
+        return tableSyncEngine.previewSyncDDL(tableDesignRepository.findUnsynced(), live);
     }
 
     private void validateTableForSync(TableDesign tableDesign) {
@@ -440,8 +472,7 @@ public class TableDesignServiceImpl implements TableDesignService {
 
         try {
             String content = new String(file.getBytes(), StandardCharsets.UTF_8);
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode tableData = mapper.readTree(content);
+            JsonNode tableData = JSON_READER.readTree(content);
             
             // 验证必需字段
             if (!tableData.has("code") || !tableData.has("displayName")) {
@@ -494,39 +525,98 @@ public class TableDesignServiceImpl implements TableDesignService {
 
     @Override
     public byte[] batchExportTableSql(List<UUID> tableIds) {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            exportTableSql(tableIds, outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            logger.error("Failed to generate batch DDL", e);
+            throw new RuntimeException("生成批量DDL失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void exportTableSql(List<UUID> tableIds, OutputStream outputStream) throws IOException {
         if (tableIds == null || tableIds.isEmpty()) {
             throw new ValidationException("表ID列表不能为空");
         }
 
-        try {
-            StringBuilder sqlBuilder = new StringBuilder();
-            sqlBuilder.append("-- Generated by DB Modeler\n");
-            sqlBuilder.append("-- Generated at: ").append(LocalDateTime.now()).append("\n\n");
-
-            for (UUID tableId : tableIds) {
-                TableDesign tableDesign = getTableDesignById(tableId);
-                if (tableDesign == null) {
-                    logger.warn("Table not found: {}", tableId);
-                    continue;
-                }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("-- Generated by DB Modeler\n");
+        writer.write("-- Generated at: " + LocalDateTime.now() + "\n\n");
 
-                // 添加表注释
-                sqlBuilder.append("-- Table: ").append(tableDesign.getCode()).append("\n");
-                if (StringUtils.hasText(tableDesign.getComment())) {
-                    sqlBuilder.append("-- ").append(tableDesign.getComment()).append("\n");
-                }
-                sqlBuilder.append("-- -----------------------------------------------------\n");
+        // 先只加载表头确定依赖顺序，被引用的表先创建
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(tableIds));
+        List<TableDesign> headers = new ArrayList<>(distinctIds.size());
+        for (List<UUID> batch : partition(distinctIds, ID_BATCH_SIZE)) {
+            headers.addAll(tableDesignRepository.findHeadersByIds(batch));
+        }
+        if (headers.size() < distinctIds.size()) {
+            logger.warn("{} of {} requested tables were not found", distinctIds.size() - headers.size(), distinctIds.size());
+        }
+        List<UUID> orderedIds = new ArrayList<>(headers.size());
+        for (TableDesign header : ddlExecutionPlanBuilder.build(headers).getOrderedTables()) {
+            orderedIds.add(header.getId());
+        }
 
-                // 生成 DDL
-                String ddl = ddlGeneratorService.generateCreateTableDDL(tableDesign);
-                sqlBuilder.append(ddl).append(";\n\n");
+        // 再按批加载完整的表设计，批内并行生成后按顺序写出
+        for (List<UUID> batch : partition(orderedIds, EXPORT_BATCH_SIZE)) {
+            for (String tableSql : parallelDdlGenerator.generate(getTableDesignsByIds(batch), this::renderTableSql)) {
+                writer.write(tableSql);
             }
+            writer.flush();
+        }
+        writer.flush();
+    }
 
-            return sqlBuilder.toString().getBytes(StandardCharsets.UTF_8);
+    @Override
+    public ScriptExecutionResult executeSqlScript(UUID projectId, String script) {
+        if (projectId == null) {
+            throw new ValidationException("项目ID不能为空");
+        }
+        if (!StringUtils.hasText(script)) {
+            throw new ValidationException("SQL脚本不能为空");
+        }
+        // 目标只从该项目自己的数据库配置中选出；默认目标是应用自身的元数据库，不允许在上面执行脚本
+        String target = tableSyncEngine.resolveTarget(projectId);
+        if (TableSyncEngine.DEFAULT_TARGET.equals(target)) {
+            throw new IllegalOperationException("Project " + projectId + " has no ACTIVE database config to run the script on");
+        }
+        try (Connection connection = targetDataSourceResolver.getDataSource(target).getConnection()) {
+            ScriptExecutionResult result = sqlScriptExecutor.execute(script, connection);
+            logger.info("Executed {} of {} statements on target {} in {} ms", result.getExecutedStatements(),
+                result.getTotalStatements(), target, result.getDurationMs());
+            return result;
+        } catch (SQLException e) {
+            throw new DDLExecutionException("Failed to execute SQL script on target " + target, e);
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Failed to generate batch DDL", e);
-            throw new RuntimeException("生成批量DDL失败: " + e.getMessage());
+    private String renderTableSql(TableDesign tableDesign) {
+        StringBuilder sql = new StringBuilder();
+        // 添加表注释
+        sql.append("-- Table: ").append(tableDesign.getCode()).append("\n");
+        if (StringUtils.hasText(tableDesign.getComment())) {
+            sql.append("-- ").append(tableDesign.getComment()).append("\n");
+        }
+        sql.append("-- -----------------------------------------------------\n");
+
+        // 生成 DDL，单表失败不中断整个导出
+        try {
+            String ddl = ddlGeneratorService.generateCreateTableDDL(tableDesign);
+            sql.append(ddl).append(";\n\n");
+        } catch (RuntimeException e) {
+            logger.error("Failed to generate DDL for table {}", tableDesign.getCode(), e);
+            sql.append("-- ERROR: failed to generate DDL: ").append(e.getMessage()).append("\n\n");
+        }
+        return sql.toString();
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            batches.add(items.subList(from, Math.min(from + size, items.size())));
         }
+        return batches;
     }
 }
@@ -4,7 +4,9 @@ import com.db.modeler.entity.TableRelation;
 import com.db.modeler.repository.TableRelationMapper;
 import com.db.modeler.service.TableRelationService;
 import com.db.modeler.service.TableDesignService;
+import com.db.modeler.service.relation.TableRelationGraphIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +21,13 @@ public class TableRelationServiceImpl implements TableRelationService {
     @Autowired
     private TableDesignService tableDesignService;
 
+    @Autowired
+    private TableRelationGraphIndex tableRelationGraphIndex;
+
+    // 多行 INSERT 每条语句最多的行数
+    @Value("${app.relation.batch-size:500}")
+    private int batchSize;
+
     @Override
     @Transactional
     public TableRelation createTableRelation(TableRelation tableRelation) {
@@ -46,12 +55,9 @@ public class TableRelationServiceImpl implements TableRelationService {
         tableRelationMapper.insert(tableRelation);
 
         // 插入列映射
-        if (tableRelation.getColumnMappings() != null) {
-            for (TableRelation.ColumnMapping mapping : tableRelation.getColumnMappings()) {
-                tableRelationMapper.insertColumnMapping(tableRelation.getId(), mapping);
-            }
-        }
+        insertColumnMappings(Collections.singletonList(tableRelation));
 
+        tableRelationGraphIndex.onRelationSaved(tableRelation);
         return tableRelation;
     }
 
@@ -82,12 +88,9 @@ public class TableRelationServiceImpl implements TableRelationService {
 
         // 更新列映射
         tableRelationMapper.deleteColumnMappings(tableRelation.getId());
-        if (tableRelation.getColumnMappings() != null) {
-            for (TableRelation.ColumnMapping mapping : tableRelation.getColumnMappings()) {
-                tableRelationMapper.insertColumnMapping(tableRelation.getId(), mapping);
-            }
-        }
+        insertColumnMappings(Collections.singletonList(tableRelation));
 
+        tableRelationGraphIndex.onRelationSaved(tableRelation);
         return tableRelation;
     }
 
@@ -98,6 +101,8 @@ public class TableRelationServiceImpl implements TableRelationService {
         tableRelationMapper.deleteColumnMappings(id);
         // 再删除主记录
         tableRelationMapper.deleteById(id);
+
+        tableRelationGraphIndex.onRelationDeleted(id);
     }
 
     @Override
@@ -111,7 +116,14 @@ public class TableRelationServiceImpl implements TableRelationService {
 
     @Override
     public List<TableRelation> getTableRelationsByProjectId(UUID projectId) {
-        return tableRelationMapper.selectByProjectId(projectId);
+        return getTableRelationsByProjectId(projectId, true);
+    }
+
+    @Override
+    public List<TableRelation> getTableRelationsByProjectId(UUID projectId, boolean includeColumnMappings) {
+        return includeColumnMappings
+            ? tableRelationMapper.selectByProjectId(projectId)
+            : tableRelationMapper.selectByProjectIdWithoutMappings(projectId);
     }
 
     @Override
@@ -132,20 +144,85 @@ public class TableRelationServiceImpl implements TableRelationService {
     @Override
     @Transactional
     public List<TableRelation> createTableRelations(List<TableRelation> tableRelations) {
-        List<TableRelation> createdRelations = new ArrayList<>();
+        if (tableRelations == null || tableRelations.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 一次性校验整批关系：必填字段和表是否存在
+        Set<UUID> tableIds = new HashSet<>();
+        for (TableRelation relation : tableRelations) {
+            if (!hasRequiredFields(relation)) {
+                throw new IllegalArgumentException("Invalid table relation");
+            }
+            tableIds.add(relation.getSourceTableId());
+            tableIds.add(relation.getTargetTableId());
+        }
+        Set<UUID> existingTableIds = tableDesignService.getExistingTableDesignIds(tableIds);
+        for (TableRelation relation : tableRelations) {
+            if (!existingTableIds.contains(relation.getSourceTableId())
+                || !existingTableIds.contains(relation.getTargetTableId())) {
+                throw new IllegalArgumentException("Invalid table relation");
+            }
+        }
+
+        // 在同一份关系图上逐条检查循环依赖，前面的关系对后面的检查可见
+        long currentTime = System.currentTimeMillis();
         for (TableRelation relation : tableRelations) {
-            createdRelations.add(createTableRelation(relation));
+            if (relation.getId() == null) {
+                relation.setId(UUID.randomUUID());
+            }
+            relation.setCreatedAt(currentTime);
+            relation.setUpdatedAt(currentTime);
+            if (checkCircularDependency(relation.getProjectId(), relation)) {
+                throw new IllegalStateException("Circular dependency detected");
+            }
+            tableRelationGraphIndex.onRelationSaved(relation);
+        }
+
+        for (int from = 0; from < tableRelations.size(); from += batchSize) {
+            tableRelationMapper.batchInsert(
+                tableRelations.subList(from, Math.min(from + batchSize, tableRelations.size())));
         }
-        return createdRelations;
+        insertColumnMappings(tableRelations);
+
+        return new ArrayList<>(tableRelations);
+    }
+
+    /**
+     * 按行数分批插入列映射，跳过没有列映射的关系
+     */
+    private void insertColumnMappings(List<TableRelation> relations) {
+        List<TableRelation> batch = new ArrayList<>();
+        int rows = 0;
+        for (TableRelation relation : relations) {
+            List<TableRelation.ColumnMapping> mappings = relation.getColumnMappings();
+            if (mappings == null || mappings.isEmpty()) {
+                continue;
+            }
+            if (rows > 0 && rows + mappings.size() > batchSize) {
+                tableRelationMapper.batchInsertColumnMappings(batch);
+                batch = new ArrayList<>();
+                rows = 0;
+            }
+            batch.add(relation);
+            rows += mappings.size();
+        }
+        if (!batch.isEmpty()) {
+            tableRelationMapper.batchInsertColumnMappings(batch);
+        }
+    }
+
+    private boolean hasRequiredFields(TableRelation tableRelation) {
+        return tableRelation.getProjectId() != null &&
+            tableRelation.getSourceTableId() != null &&
+            tableRelation.getTargetTableId() != null &&
+            tableRelation.getRelationType() != null;
     }
 
     @Override
     public boolean validateTableRelation(TableRelation tableRelation) {
         // 检查必要字段
-        if (tableRelation.getProjectId() == null ||
-            tableRelation.getSourceTableId() == null ||
-            tableRelation.getTargetTableId() == null ||
-            tableRelation.getRelationType() == null) {
+        if (!hasRequiredFields(tableRelation)) {
             return false;
         }
 
@@ -162,50 +239,8 @@ public class TableRelationServiceImpl implements TableRelationService {
 
     @Override
     public boolean checkCircularDependency(UUID projectId, TableRelation newRelation) {
-        Set<UUID> visited = new HashSet<>();
-        Set<UUID> recursionStack = new HashSet<>();
-        
-        // 获取项目中的所有关系
-        List<TableRelation> allRelations = new ArrayList<>(tableRelationMapper.selectByProjectId(projectId));
-        
-        // 添加新的关系（如果不是更新操作）
-        if (newRelation.getId() == null) {
-            allRelations.add(newRelation);
-        }
-        
-        // 从源表开始检查是否存在循环依赖
-        return hasCircularDependency(newRelation.getSourceTableId(), allRelations, visited, recursionStack);
-    }
-
-    private boolean hasCircularDependency(UUID currentTableId,
-                                        List<TableRelation> relations,
-                                        Set<UUID> visited,
-                                        Set<UUID> recursionStack) {
-        // 如果当前表已经在递归栈中，说明存在循环依赖
-        if (recursionStack.contains(currentTableId)) {
-            return true;
-        }
-        
-        // 如果当前表已经访问过且不在递归栈中，说明这条路径没有循环依赖
-        if (visited.contains(currentTableId)) {
-            return false;
-        }
-        
-        // 将当前表添加到访问集合和递归栈中
-        visited.add(currentTableId);
-        recursionStack.add(currentTableId);
-        
-        // 获取当前表作为源表的所有关系
-        for (TableRelation relation : relations) {
-            if (relation.getSourceTableId().equals(currentTableId)) {
-                if (hasCircularDependency(relation.getTargetTableId(), relations, visited, recursionStack)) {
-                    return true;
-                }
-            }
-        }
-        
-        // 回溯时从递归栈中移除当前表
-        recursionStack.remove(currentTableId);
-        return false;
+        // 新边 source -> target 形成环，当且仅当目标表已经可以到达源表
+        return tableRelationGraphIndex.wouldCreateCycle(projectId, newRelation.getId(),
+            newRelation.getSourceTableId(), newRelation.getTargetTableId());
     }
 }
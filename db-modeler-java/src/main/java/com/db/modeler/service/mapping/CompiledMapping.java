@@ -0,0 +1,172 @@
+package com.db.modeler.service.mapping;
+
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.exception.ValidationException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 编译后的映射规则：源列位置、转换和常量在执行前确定，逐行映射时只按下标读写到调用方复用的缓冲区，
+ * 不创建 Map 或数组；同一源列被多个目标列使用时只查询一次。
+ */
+public final class CompiledMapping {
+
+    // 表名可以带库名前缀，列名不可以
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*(\\.[A-Za-z_][A-Za-z0-9_$]*)?");
+    private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*");
+
+    private final String selectSql;
+    // INSERT INTO t (a, b) VALUES 和每行的 (?, ?)
+    private final String insertPrefix;
+    private final String rowPlaceholders;
+    // 目标列 i 取自结果集的第 sourceIndexes[i] 列（从 1 开始），CONSTANT 时为 0
+    private final int[] sourceIndexes;
+    private final MappingRule.Transform[] transforms;
+    private final Object[] values;
+
+    private CompiledMapping(String selectSql, String insertPrefix, String rowPlaceholders, int[] sourceIndexes,
+                            MappingRule.Transform[] transforms, Object[] values) {
+        this.selectSql = selectSql;
+        this.insertPrefix = insertPrefix;
+        this.rowPlaceholders = rowPlaceholders;
+        this.sourceIndexes = sourceIndexes;
+        this.transforms = transforms;
+        this.values = values;
+    }
+
+    public static CompiledMapping compile(MappingConfiguration configuration, List<MappingRule> rules,
+                                          DatabaseConfig.Type sourceType, DatabaseConfig.Type targetType) {
+        String sourceTable = tableName(configuration.getSourceTable(), "sourceTable");
+        String targetTable = tableName(configuration.getTargetTable(), "targetTable");
+        if (rules == null || rules.isEmpty()) {
+            throw new ValidationException("Mapping rules cannot be empty");
+        }
+
+        Map<String, Integer> sourceColumns = new LinkedHashMap<>();
+        List<String> targetColumns = new ArrayList<>(rules.size());
+        Set<String> seenTargets = new HashSet<>();
+        int[] sourceIndexes = new int[rules.size()];
+        MappingRule.Transform[] transforms = new MappingRule.Transform[rules.size()];
+        Object[] values = new Object[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            MappingRule rule = rules.get(i);
+            String targetColumn = columnName(rule.getTargetColumn(), "targetColumn");
+            if (!seenTargets.add(targetColumn.toLowerCase(Locale.ROOT))) {
+                throw new ValidationException("Duplicate target column: " + targetColumn);
+            }
+            targetColumns.add(targetColumn);
+            transforms[i] = rule.getTransform() != null ? rule.getTransform() : MappingRule.Transform.NONE;
+            values[i] = rule.getValue();
+            if (transforms[i] != MappingRule.Transform.CONSTANT) {
+                String sourceColumn = columnName(rule.getSourceColumn(), "sourceColumn");
+                sourceIndexes[i] = sourceColumns.computeIfAbsent(sourceColumn, column -> sourceColumns.size() + 1);
+            }
+        }
+        if (sourceColumns.isEmpty()) {
+            throw new ValidationException("At least one mapping rule must read a source column");
+        }
+
+        List<String> quotedSource = new ArrayList<>(sourceColumns.size());
+        for (String column : sourceColumns.keySet()) {
+            quotedSource.add(quote(column, sourceType));
+        }
+        List<String> quotedTarget = new ArrayList<>(targetColumns.size());
+        for (String column : targetColumns) {
+            quotedTarget.add(quote(column, targetType));
+        }
+        String selectSql = "SELECT " + String.join(", ", quotedSource) + " FROM " + quote(sourceTable, sourceType);
+        String insertPrefix = "INSERT INTO " + quote(targetTable, targetType) + " (" + String.join(", ", quotedTarget)
+            + ") VALUES ";
+        String rowPlaceholders = "(" + String.join(", ", Collections.nCopies(targetColumns.size(), "?")) + ")";
+        return new CompiledMapping(selectSql, insertPrefix, rowPlaceholders, sourceIndexes, transforms, values);
+    }
+
+    public String getSelectSql() {
+        return selectSql;
+    }
+
+    /**
+     * 一次插入 rows 行的多行 INSERT
+     */
+    public String getInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(insertPrefix.length() + rows * (rowPlaceholders.length() + 2));
+        sql.append(insertPrefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(rowPlaceholders);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 目标列数，即每行的参数个数
+     */
+    public int getColumnCount() {
+        return sourceIndexes.length;
+    }
+
+    /**
+     * 把结果集当前行映射到 buffer 中从 offset 开始的 {@link #getColumnCount()} 个位置
+     */
+    public void apply(ResultSet row, Object[] buffer, int offset) throws SQLException {
+        for (int i = 0; i < sourceIndexes.length; i++) {
+            Object value;
+            MappingRule.Transform transform = transforms[i];
+            if (transform == MappingRule.Transform.CONSTANT) {
+                value = values[i];
+            } else {
+                value = row.getObject(sourceIndexes[i]);
+                if (value == null) {
+                    value = values[i];
+                } else if (transform != MappingRule.Transform.NONE && value instanceof String) {
+                    // 内容不变时这些方法返回原字符串，不会复制
+                    String text = (String) value;
+                    value = switch (transform) {
+                        case TRIM -> text.trim();
+                        case UPPER -> text.toUpperCase(Locale.ROOT);
+                        case LOWER -> text.toLowerCase(Locale.ROOT);
+                        default -> text;
+                    };
+                }
+            }
+            buffer[offset + i] = value;
+        }
+    }
+
+    private static String tableName(String name, String field) {
+        if (name == null || !TABLE_NAME.matcher(name).matches()) {
+            throw new ValidationException("Invalid " + field + ": " + name);
+        }
+        return name;
+    }
+
+    private static String columnName(String name, String field) {
+        if (name == null || !COLUMN_NAME.matcher(name).matches()) {
+            throw new ValidationException("Invalid " + field + ": " + name);
+        }
+        return name;
+    }
+
+    /**
+     * 名称已经校验过只含字母、数字、下划线和 $；MySQL 加反引号以免与关键字冲突，
+     * 其他数据库加引号会区分大小写，保持原样
+     */
+    private static String quote(String name, DatabaseConfig.Type type) {
+        if (type != DatabaseConfig.Type.MYSQL) {
+            return name;
+        }
+        return "`" + name.replace(".", "`.`") + "`";
+    }
+}
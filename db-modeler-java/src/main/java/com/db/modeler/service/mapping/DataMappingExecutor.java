@@ -0,0 +1,241 @@
+package com.db.modeler.service.mapping;
+
+import com.db.modeler.config.DynamicDataSourceConfig;
+import com.db.modeler.dto.DataMappingRunResult;
+import com.db.modeler.entity.DataMapping;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.exception.IllegalOperationException;
+import com.db.modeler.exception.ResourceNotFoundException;
+import com.db.modeler.exception.ValidationException;
+import com.db.modeler.mapper.DatabaseConfigMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 执行数据库到数据库的数据映射
+ *
+ * 源表用只进、只读的游标流式读取（MySQL 逐行流式返回，其他数据库按 fetchSize 分批返回），
+ * 每行按编译后的规则写入复用的参数缓冲区，凑满一条多行 INSERT 后绑定执行。
+ * 目标端每 batchSize 行提交一次事务，失败时已提交的批次保留。
+ */
+@Component
+public class DataMappingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataMappingExecutor.class);
+
+    // 单条语句的参数个数上限，多行 INSERT 的行数受此限制
+    private static final int MYSQL_MAX_PARAMETERS = 65535;
+    private static final int POSTGRESQL_MAX_PARAMETERS = 32767;
+    private static final int SQLSERVER_MAX_PARAMETERS = 2000;
+
+    @Autowired
+    private DatabaseConfigMapper databaseConfigMapper;
+
+    @Autowired
+    private DynamicDataSourceConfig dynamicDataSourceConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.mapping.fetch-size:1000}")
+    private int defaultFetchSize;
+
+    @Value("${app.mapping.batch-size:1000}")
+    private int defaultBatchSize;
+
+    // 正在执行的数据映射，同一映射不会同时执行两次
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 执行一次数据映射；配置错误时抛出异常，读写失败记录在结果的 error 中
+     */
+    public DataMappingRunResult execute(DataMapping mapping) {
+        if (mapping.getSourceType() != DataMapping.SourceType.DATABASE
+            || mapping.getTargetType() != DataMapping.TargetType.DATABASE) {
+            throw new ValidationException("Only DATABASE to DATABASE data mappings can be executed");
+        }
+        MappingConfiguration configuration = read(mapping.getConfiguration(), "configuration",
+            new TypeReference<MappingConfiguration>() {});
+        List<MappingRule> rules = read(mapping.getMappingRules(), "mappingRules",
+            new TypeReference<List<MappingRule>>() {});
+        DatabaseConfig source = loadConfig(configuration.getSourceConfigId(), "sourceConfigId");
+        DatabaseConfig target = loadConfig(configuration.getTargetConfigId(), "targetConfigId");
+        CompiledMapping compiled = CompiledMapping.compile(configuration, rules, source.getType(), target.getType());
+
+        int batchSize = positiveOrDefault(configuration.getBatchSize(), defaultBatchSize);
+        DataMappingRunResult result = new DataMappingRunResult();
+        result.setMappingId(mapping.getId());
+        result.setStartedAt(LocalDateTime.now());
+        // MySQL 驱动只在 fetchSize 为 Integer.MIN_VALUE 时逐行流式读取，否则一次读入整个结果集
+        result.setFetchSize(source.getType() == DatabaseConfig.Type.MYSQL
+            ? Integer.MIN_VALUE : positiveOrDefault(configuration.getFetchSize(), defaultFetchSize));
+        result.setRowsPerStatement(rowsPerStatement(target.getType(), compiled.getColumnCount(), batchSize));
+
+        if (!running.add(mapping.getId())) {
+            throw new IllegalOperationException("Data mapping is already running: " + mapping.getId());
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            transfer(source, target, compiled, batchSize, result);
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Data mapping {} failed after {} rows", mapping.getId(), result.getRowsWritten(), e);
+            result.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            running.remove(mapping.getId());
+            long elapsedNanos = System.nanoTime() - start;
+            result.setDurationMs(elapsedNanos / 1_000_000);
+            result.setRowsPerSecond(elapsedNanos > 0 ? result.getRowsWritten() * 1e9 / elapsedNanos : 0);
+            long allocatedAfter = allocatedBytes();
+            result.setAllocatedBytes(allocatedBefore >= 0 && allocatedAfter >= 0 ? allocatedAfter - allocatedBefore : -1);
+            result.setHeapUsedBytes(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        }
+        logger.info("Data mapping {} wrote {} of {} rows in {} ms ({} rows/s, {} bytes allocated)", mapping.getId(),
+            result.getRowsWritten(), result.getRowsRead(), result.getDurationMs(),
+            Math.round(result.getRowsPerSecond()), result.getAllocatedBytes());
+        return result;
+    }
+
+    private void transfer(DatabaseConfig source, DatabaseConfig target, CompiledMapping mapping, int batchSize,
+                          DataMappingRunResult result) throws SQLException {
+        DataSource sourceDataSource = dynamicDataSourceConfig.createDataSource(source);
+        DataSource targetDataSource = dynamicDataSourceConfig.createDataSource(target);
+        int columns = mapping.getColumnCount();
+        int rowsPerStatement = result.getRowsPerStatement();
+        Object[] buffer = new Object[rowsPerStatement * columns];
+        long rowsRead = 0;
+        long rowsWritten = 0;
+        int batches = 0;
+
+        // 连接归还连接池时恢复 autoCommit 并回滚未提交的事务
+        try (Connection sourceConnection = sourceDataSource.getConnection();
+             Connection targetConnection = targetDataSource.getConnection()) {
+            // PostgreSQL 只在事务中按 fetchSize 使用游标
+            sourceConnection.setAutoCommit(false);
+            targetConnection.setAutoCommit(false);
+            try (PreparedStatement select = sourceConnection.prepareStatement(mapping.getSelectSql(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 PreparedStatement insert = targetConnection.prepareStatement(mapping.getInsertSql(rowsPerStatement))) {
+                select.setFetchSize(result.getFetchSize());
+                try (ResultSet rows = select.executeQuery()) {
+                    int filled = 0;
+                    int pending = 0;
+                    while (rows.next()) {
+                        mapping.apply(rows, buffer, filled * columns);
+                        rowsRead++;
+                        if (++filled < rowsPerStatement) {
+                            continue;
+                        }
+                        bind(insert, buffer, buffer.length);
+                        insert.addBatch();
+                        filled = 0;
+                        pending += rowsPerStatement;
+                        if (pending >= batchSize) {
+                            insert.executeBatch();
+                            targetConnection.commit();
+                            rowsWritten += pending;
+                            batches++;
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        insert.executeBatch();
+                    }
+                    if (filled > 0) {
+                        try (PreparedStatement tail = targetConnection.prepareStatement(mapping.getInsertSql(filled))) {
+                            bind(tail, buffer, filled * columns);
+                            tail.executeUpdate();
+                        }
+                    }
+                    if (pending > 0 || filled > 0) {
+                        targetConnection.commit();
+                        rowsWritten += pending + filled;
+                        batches++;
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                targetConnection.rollback();
+                throw e;
+            }
+        } finally {
+            result.setRowsRead(rowsRead);
+            result.setRowsWritten(rowsWritten);
+            result.setBatches(batches);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object[] buffer, int count) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            statement.setObject(i + 1, buffer[i]);
+        }
+    }
+
+    /**
+     * 每条 INSERT 的行数：不超过 batchSize 和参数个数上限；Oracle 不支持多行 VALUES，使用驱动的批量绑定
+     */
+    private static int rowsPerStatement(DatabaseConfig.Type type, int columns, int batchSize) {
+        int maxParameters = switch (type) {
+            case MYSQL -> MYSQL_MAX_PARAMETERS;
+            case POSTGRESQL -> POSTGRESQL_MAX_PARAMETERS;
+            case SQLSERVER -> SQLSERVER_MAX_PARAMETERS;
+            case ORACLE -> columns;
+        };
+        return Math.max(1, Math.min(batchSize, maxParameters / columns));
+    }
+
+    /**
+     * 当前线程累计分配的内存，JVM 不支持时返回 -1
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+            && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private DatabaseConfig loadConfig(UUID id, String field) {
+        if (id == null) {
+            throw new ValidationException(field + " is required in the data mapping configuration");
+        }
+        DatabaseConfig config = databaseConfigMapper.selectById(id);
+        if (config == null) {
+            throw new ResourceNotFoundException("Database config not found with id: " + id);
+        }
+        return config;
+    }
+
+    private <T> T read(String json, String field, TypeReference<T> type) {
+        if (!StringUtils.hasText(json)) {
+            throw new ValidationException(field + " of the data mapping is empty");
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Invalid " + field + " of the data mapping: " + e.getOriginalMessage());
+        }
+    }
+
+    private static int positiveOrDefault(Integer value, int defaultValue) {
+        return value != null && value > 0 ? value : Math.max(1, defaultValue);
+    }
+}
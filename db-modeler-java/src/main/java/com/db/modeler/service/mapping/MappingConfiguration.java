@@ -0,0 +1,66 @@
+package com.db.modeler.service.mapping;
+
+import java.util.UUID;
+
+/**
+ * 数据映射的 configuration JSON：从源数据库配置的一张表读取，写入目标数据库配置的一张表
+ */
+public class MappingConfiguration {
+
+    private UUID sourceConfigId;
+    private String sourceTable;
+    private UUID targetConfigId;
+    private String targetTable;
+    // 为空时使用 app.mapping.fetch-size / app.mapping.batch-size
+    private Integer fetchSize;
+    private Integer batchSize;
+
+    // Getters and Setters
+    public UUID getSourceConfigId() {
+        return sourceConfigId;
+    }
+
+    public void setSourceConfigId(UUID sourceConfigId) {
+        this.sourceConfigId = sourceConfigId;
+    }
+
+    public String getSourceTable() {
+        return sourceTable;
+    }
+
+    public void setSourceTable(String sourceTable) {
+        this.sourceTable = sourceTable;
+    }
+
+    public UUID getTargetConfigId() {
+        return targetConfigId;
+    }
+
+    public void setTargetConfigId(UUID targetConfigId) {
+        this.targetConfigId = targetConfigId;
+    }
+
+    public String getTargetTable() {
+        return targetTable;
+    }
+
+    public void setTargetTable(String targetTable) {
+        this.targetTable = targetTable;
+    }
+
+    public Integer getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(Integer fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,57 @@
+package com.db.modeler.service.mapping;
+
+/**
+ * mapping_rules JSON 数组中的一项：目标表的一列取自源表的哪一列、如何转换
+ */
+public class MappingRule {
+
+    /**
+     * NONE：原样写入；TRIM/UPPER/LOWER：只作用于字符串；CONSTANT：写入 value，不读取源列
+     */
+    public enum Transform {
+        NONE,
+        TRIM,
+        UPPER,
+        LOWER,
+        CONSTANT
+    }
+
+    private String sourceColumn;
+    private String targetColumn;
+    private Transform transform = Transform.NONE;
+    // CONSTANT 时为写入的值，否则为源列为 NULL 时的默认值
+    private Object value;
+
+    // Getters and Setters
+    public String getSourceColumn() {
+        return sourceColumn;
+    }
+
+    public void setSourceColumn(String sourceColumn) {
+        this.sourceColumn = sourceColumn;
+    }
+
+    public String getTargetColumn() {
+        return targetColumn;
+    }
+
+    public void setTargetColumn(String targetColumn) {
+        this.targetColumn = targetColumn;
+    }
+
+    public Transform getTransform() {
+        return transform;
+    }
+
+    public void setTransform(Transform transform) {
+        this.transform = transform;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,204 @@
+package com.db.modeler.service.relation;
+
+import com.db.modeler.entity.TableRelation;
+import com.db.modeler.repository.TableRelationMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按项目缓存的表关系邻接索引
+ *
+ * 首次访问某个项目时只加载关系边（不加载列映射），之后随关系的增删改增量维护。
+ * 变更立即应用到索引，使同一事务内的批量创建也能检测到彼此形成的环；
+ * 事务回滚时丢弃受影响项目的缓存，下次访问时重新加载。
+ */
+@Component
+public class TableRelationGraphIndex {
+
+    private final Map<UUID, ProjectGraph> graphs = new ConcurrentHashMap<>();
+
+    /** 关系ID到所属项目ID，删除关系时只有关系ID */
+    private final Map<UUID, UUID> projectByRelation = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TableRelationMapper tableRelationMapper;
+
+    /**
+     * 判断添加（或将已有关系改为）source -> target 的边后是否会形成环
+     *
+     * 只需判断目标表能否沿现有边到达源表，复杂度 O(V+E)。
+     * @param projectId 项目ID
+     * @param relationId 被替换的关系ID，新建关系时可为 null
+     * @param sourceTableId 源表ID
+     * @param targetTableId 目标表ID
+     * @return 是否会形成环
+     */
+    public boolean wouldCreateCycle(UUID projectId, UUID relationId, UUID sourceTableId, UUID targetTableId) {
+        if (sourceTableId.equals(targetTableId)) {
+            return true;
+        }
+        return graphFor(projectId).reaches(targetTableId, sourceTableId, relationId);
+    }
+
+    /**
+     * 关系新建或更新后调用
+     */
+    public void onRelationSaved(TableRelation relation) {
+        UUID previousProjectId = removeEdge(relation.getId());
+        ProjectGraph graph = graphs.get(relation.getProjectId());
+        if (graph != null) {
+            graph.addEdge(relation.getId(), relation.getSourceTableId(), relation.getTargetTableId());
+            projectByRelation.put(relation.getId(), relation.getProjectId());
+        }
+        invalidateOnRollback(relation.getProjectId());
+        if (previousProjectId != null && !previousProjectId.equals(relation.getProjectId())) {
+            invalidateOnRollback(previousProjectId);
+        }
+    }
+
+    /**
+     * 关系删除后调用
+     */
+    public void onRelationDeleted(UUID relationId) {
+        UUID projectId = removeEdge(relationId);
+        if (projectId != null) {
+            invalidateOnRollback(projectId);
+        }
+    }
+
+    /**
+     * 丢弃项目的缓存，下次访问时重新加载
+     */
+    public void invalidate(UUID projectId) {
+        ProjectGraph graph = graphs.remove(projectId);
+        if (graph != null) {
+            graph.relationIds().forEach(projectByRelation::remove);
+        }
+    }
+
+    /**
+     * 绕过本索引直接写入关系表（如反向工程的批量导入）时在事务中调用：事务结束后丢弃项目的缓存，
+     * 事务期间其他线程加载的旧数据也会被丢弃；不在事务中时立即丢弃
+     */
+    public void invalidateAfterCompletion(UUID projectId) {
+        invalidate(projectId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(projectId);
+            }
+        });
+    }
+
+    private UUID removeEdge(UUID relationId) {
+        UUID projectId = projectByRelation.remove(relationId);
+        if (projectId != null) {
+            ProjectGraph graph = graphs.get(projectId);
+            if (graph != null) {
+                graph.removeEdge(relationId);
+            }
+        }
+        return projectId;
+    }
+
+    private ProjectGraph graphFor(UUID projectId) {
+        return graphs.computeIfAbsent(projectId, id -> {
+            ProjectGraph graph = new ProjectGraph();
+            List<TableRelation> edges = tableRelationMapper.selectEdgesByProjectIds(Collections.singletonList(id));
+            for (TableRelation edge : edges) {
+                graph.addEdge(edge.getId(), edge.getSourceTableId(), edge.getTargetTableId());
+                projectByRelation.put(edge.getId(), id);
+            }
+            return graph;
+        });
+    }
+
+    private void invalidateOnRollback(UUID projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    invalidate(projectId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 单个项目的邻接表，同一对表之间可能存在多条关系，按关系计数
+     */
+    private static class ProjectGraph {
+        private final Map<UUID, Map<UUID, Integer>> adjacency = new HashMap<>();
+        private final Map<UUID, UUID[]> edges = new HashMap<>();
+
+        synchronized void addEdge(UUID relationId, UUID sourceTableId, UUID targetTableId) {
+            edges.put(relationId, new UUID[] {sourceTableId, targetTableId});
+            adjacency.computeIfAbsent(sourceTableId, k -> new HashMap<>()).merge(targetTableId, 1, Integer::sum);
+        }
+
+        synchronized void removeEdge(UUID relationId) {
+            UUID[] edge = edges.remove(relationId);
+            if (edge == null) {
+                return;
+            }
+            Map<UUID, Integer> targets = adjacency.get(edge[0]);
+            if (targets != null) {
+                targets.computeIfPresent(edge[1], (k, count) -> count > 1 ? count - 1 : null);
+                if (targets.isEmpty()) {
+                    adjacency.remove(edge[0]);
+                }
+            }
+        }
+
+        synchronized Set<UUID> relationIds() {
+            return new HashSet<>(edges.keySet());
+        }
+
+        /**
+         * 广度优先判断 from 是否可达 to，忽略 excludedRelationId 对应的边
+         */
+        synchronized boolean reaches(UUID from, UUID to, UUID excludedRelationId) {
+            UUID[] excluded = excludedRelationId != null ? edges.get(excludedRelationId) : null;
+            Set<UUID> visited = new HashSet<>();
+            Deque<UUID> queue = new ArrayDeque<>();
+            queue.add(from);
+            visited.add(from);
+            while (!queue.isEmpty()) {
+                UUID current = queue.poll();
+                for (Map.Entry<UUID, Integer> entry : adjacency.getOrDefault(current, Collections.emptyMap()).entrySet()) {
+                    UUID next = entry.getKey();
+                    if (excluded != null && excluded[0].equals(current) && excluded[1].equals(next)
+                        && entry.getValue() == 1) {
+                        continue;
+                    }
+                    if (next.equals(to)) {
+                        return true;
+                    }
+                    if (visited.add(next)) {
+                        queue.add(next);
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
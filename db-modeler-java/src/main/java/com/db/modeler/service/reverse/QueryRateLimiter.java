@@ -0,0 +1,62 @@
+package com.db.modeler.service.reverse;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 限制对目标数据库每秒发出的元数据查询数，多个提取线程共享同一个实例
+ *
+ * 按固定间隔发放许可，不累积空闲期的额度，因此不会出现突发。
+ */
+public final class QueryRateLimiter {
+
+    /**
+     * 不限速
+     */
+    public static final QueryRateLimiter UNLIMITED = new QueryRateLimiter(0);
+
+    private final long intervalNanos;
+    private final AtomicLong acquired = new AtomicLong();
+    private long nextFreeAt;
+
+    /**
+     * @param queriesPerSecond 每秒查询数，小于等于 0 表示不限速
+     */
+    public QueryRateLimiter(double queriesPerSecond) {
+        this.intervalNanos = queriesPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / queriesPerSecond) : 0;
+        this.nextFreeAt = System.nanoTime();
+    }
+
+    /**
+     * 等待直到可以发出 queries 条查询
+     */
+    public void acquire(int queries) {
+        acquired.addAndGet(queries);
+        if (intervalNanos == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeAt);
+            nextFreeAt = start + intervalNanos * queries;
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for query budget");
+            }
+        }
+    }
+
+    /**
+     * 已发放的查询数
+     */
+    public long getAcquired() {
+        return acquired.get();
+    }
+}
@@ -0,0 +1,37 @@
+package com.db.modeler.service.reverse;
+
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.entity.TableRelation;
+
+import java.util.List;
+
+/**
+ * 一批提取出的表，以及以这些表为源表的外键关系
+ */
+public class SchemaChunk {
+
+    private final int index;
+    private final List<TableDesign> tables;
+    private final List<TableRelation> relations;
+
+    public SchemaChunk(int index, List<TableDesign> tables, List<TableRelation> relations) {
+        this.index = index;
+        this.tables = tables;
+        this.relations = relations;
+    }
+
+    /**
+     * 批次序号，从 0 开始；并行提取时批次的完成顺序不固定
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public List<TableDesign> getTables() {
+        return tables;
+    }
+
+    public List<TableRelation> getRelations() {
+        return relations;
+    }
+}
@@ -0,0 +1,585 @@
+package com.db.modeler.service.reverse;
+
+import com.db.modeler.config.DynamicDataSourceConfig;
+import com.db.modeler.dto.ExtractedSchema;
+import com.db.modeler.entity.ColumnDefinition;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.entity.TableFingerprint;
+import com.db.modeler.entity.TableRelation;
+import com.db.modeler.exception.DatabaseConnectionException;
+import com.db.modeler.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 从 MySQL 的 information_schema 批量提取表结构
+ *
+ * 先用一条查询列出所有表，再按 {@code app.reverse.chunk-size} 张表分批，每批在目标连接池的一个连接上
+ * 用三条集合查询读取列、索引和外键，各批在独立的线程池中并行执行。表ID在分批之前统一分配，
+ * 外键关系可以引用其他批次中的表。
+ *
+ * 模型中没有的信息会丢失：自增、ON UPDATE、唯一约束和联合索引内的列顺序（按表中列的顺序）。
+ */
+@Component
+public class SchemaExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaExtractor.class);
+
+    private static final String TABLES_SQL =
+        "SELECT TABLE_NAME, TABLE_COMMENT FROM information_schema.TABLES "
+        + "WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME";
+
+    private static final String COLUMNS_SQL =
+        "SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, COLUMN_TYPE, CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, "
+        + "NUMERIC_SCALE, IS_NULLABLE, COLUMN_DEFAULT, COLUMN_KEY, EXTRA, COLUMN_COMMENT "
+        + "FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN (%s) "
+        + "ORDER BY TABLE_NAME, ORDINAL_POSITION";
+
+    private static final String INDEXES_SQL =
+        "SELECT TABLE_NAME, INDEX_NAME, COLUMN_NAME FROM information_schema.STATISTICS "
+        + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN (%s) AND INDEX_NAME <> 'PRIMARY' "
+        + "ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX";
+
+    private static final String FOREIGN_KEYS_SQL =
+        "SELECT TABLE_NAME, CONSTRAINT_NAME, COLUMN_NAME, REFERENCED_TABLE_NAME, REFERENCED_COLUMN_NAME "
+        + "FROM information_schema.KEY_COLUMN_USAGE WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN (%s) "
+        + "AND REFERENCED_TABLE_SCHEMA = ? ORDER BY TABLE_NAME, CONSTRAINT_NAME, ORDINAL_POSITION";
+
+    private static final String TABLE_TIMES_SQL =
+        "SELECT TABLE_NAME, TABLE_COMMENT, CREATE_TIME, UPDATE_TIME FROM information_schema.TABLES "
+        + "WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE'";
+
+    // 以下三条查询在服务端按表计算摘要，只返回表名和哈希
+    private static final String COLUMNS_HASH_SQL =
+        "SELECT TABLE_NAME, SHA2(GROUP_CONCAT(CONCAT_WS('|', COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE, "
+        + "ISNULL(COLUMN_DEFAULT), IFNULL(COLUMN_DEFAULT, ''), COLUMN_KEY, EXTRA, COLUMN_COMMENT) ORDER BY ORDINAL_POSITION "
+        + "SEPARATOR '\\n'), 256) AS HASH FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ? GROUP BY TABLE_NAME";
+
+    private static final String INDEXES_HASH_SQL =
+        "SELECT TABLE_NAME, SHA2(GROUP_CONCAT(CONCAT_WS('|', INDEX_NAME, SEQ_IN_INDEX, IFNULL(COLUMN_NAME, ''), "
+        + "NON_UNIQUE) ORDER BY INDEX_NAME, SEQ_IN_INDEX SEPARATOR '\\n'), 256) AS HASH "
+        + "FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = ? GROUP BY TABLE_NAME";
+
+    private static final String FOREIGN_KEYS_HASH_SQL =
+        "SELECT TABLE_NAME, SHA2(GROUP_CONCAT(CONCAT_WS('|', CONSTRAINT_NAME, ORDINAL_POSITION, COLUMN_NAME, "
+        + "REFERENCED_TABLE_NAME, REFERENCED_COLUMN_NAME) ORDER BY CONSTRAINT_NAME, ORDINAL_POSITION "
+        + "SEPARATOR '\\n'), 256) AS HASH FROM information_schema.KEY_COLUMN_USAGE "
+        + "WHERE TABLE_SCHEMA = ? AND REFERENCED_TABLE_SCHEMA = ? GROUP BY TABLE_NAME";
+
+    // 由外键生成的列映射类型
+    private static final String FOREIGN_KEY_MAPPING = "FOREIGN_KEY";
+
+    // 默认值不需要加引号的类型
+    private static final Set<String> UNQUOTED_DEFAULT_TYPES = new HashSet<>(Arrays.asList(
+        "TINYINT", "SMALLINT", "MEDIUMINT", "INT", "INTEGER", "BIGINT", "DECIMAL", "NUMERIC",
+        "FLOAT", "DOUBLE", "BIT"));
+
+    private static final int GROUP_CONCAT_MAX_LEN = 16 * 1024 * 1024;
+
+    // display_name 列的长度
+    private static final int MAX_DISPLAY_NAME_LENGTH = 100;
+
+    @Autowired
+    private DynamicDataSourceConfig dynamicDataSourceConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ExecutorService executor;
+
+    private final int chunkSize;
+
+    public SchemaExtractor(@Value("${app.reverse.chunk-size:500}") int chunkSize,
+                           @Value("${app.reverse.parallelism:4}") int parallelism) {
+        this.chunkSize = Math.max(1, chunkSize);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "schema-extract-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), threadFactory);
+    }
+
+    /**
+     * 提取整个库的表结构并全部放入内存
+     */
+    public ExtractedSchema extract(DatabaseConfig config, UUID projectId) {
+        ExtractedSchema schema = new ExtractedSchema();
+        schema.setSchema(config.getDatabaseName());
+        long start = System.nanoTime();
+        extract(config, projectId, chunk -> {
+            synchronized (schema) {
+                schema.getTables().addAll(chunk.getTables());
+                schema.getRelations().addAll(chunk.getRelations());
+            }
+        });
+        schema.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        return schema;
+    }
+
+    /**
+     * 分批提取表结构，每批完成后交给 sink
+     * @param sink 批次消费者，会在提取线程中并发调用；阻塞时对应的提取线程暂停，可用于背压
+     * @return 提取的表数量
+     */
+    public int extract(DatabaseConfig config, UUID projectId, Consumer<SchemaChunk> sink) {
+        return extract(config, projectId, Collections.emptyMap(), sink);
+    }
+
+    /**
+     * 分批提取表结构，已知表代码沿用给定的表ID，外键关系也指向这些ID
+     * @param knownIds 表代码 -> 已有的表ID，通常是项目中已保存的表
+     */
+    public int extract(DatabaseConfig config, UUID projectId, Map<String, UUID> knownIds,
+                       Consumer<SchemaChunk> sink) {
+        return extract(config, projectId, knownIds, tableName -> true, sink);
+    }
+
+    /**
+     * 只读取 include 接受的表；其他表只有在 knownIds 中时才能作为外键关系的目标表
+     * @return 读取的表数量
+     */
+    public int extract(DatabaseConfig config, UUID projectId, Map<String, UUID> knownIds,
+                       Predicate<String> include, Consumer<SchemaChunk> sink) {
+        return extract(config, projectId, knownIds, include, QueryRateLimiter.UNLIMITED, sink);
+    }
+
+    /**
+     * 限速提取：列出表前取一个许可，每批读取前取三个许可
+     */
+    public int extract(DatabaseConfig config, UUID projectId, Map<String, UUID> knownIds,
+                       Predicate<String> include, QueryRateLimiter limiter, Consumer<SchemaChunk> sink) {
+        if (config.getType() != DatabaseConfig.Type.MYSQL) {
+            throw new ValidationException("Reverse engineering is only supported for MySQL, not " + config.getType());
+        }
+        DataSource dataSource = dynamicDataSourceConfig.createDataSource(config);
+        String schema = config.getDatabaseName();
+
+        Map<String, UUID> tableIds = new HashMap<>();
+        List<String[]> tables = new ArrayList<>();
+        limiter.acquire(1);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(TABLES_SQL)) {
+            statement.setString(1, schema);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString("TABLE_NAME");
+                    UUID knownId = knownIds.get(tableName);
+                    if (include.test(tableName)) {
+                        tables.add(new String[]{tableName, rs.getString("TABLE_COMMENT")});
+                        tableIds.put(tableName, knownId != null ? knownId : UUID.randomUUID());
+                    } else if (knownId != null) {
+                        tableIds.put(tableName, knownId);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to list tables of schema " + schema, e);
+        }
+        logger.info("Extracting {} tables from schema {} in chunks of {}", tables.size(), schema, chunkSize);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0, index = 0; from < tables.size(); from += chunkSize, index++) {
+            List<String[]> chunk = tables.subList(from, Math.min(from + chunkSize, tables.size()));
+            int chunkIndex = index;
+            futures.add(CompletableFuture.runAsync(() -> {
+                limiter.acquire(3);
+                sink.accept(readChunk(dataSource, schema, chunkIndex, chunk, tableIds, projectId));
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            for (CompletableFuture<Void> future : futures) {
+                future.cancel(false);
+            }
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new DatabaseConnectionException("Failed to extract schema " + schema, cause);
+        }
+        return tables.size();
+    }
+
+    /**
+     * 读取每张表的结构指纹，不读取列定义本身
+     *
+     * 指纹是表注释、列、索引、外键摘要和 CREATE_TIME 的 SHA-256。UPDATE_TIME 随数据写入变化，
+     * 只记录不参与计算，否则每次都会重新读取有写入的表。
+     * @return 表名 -> 指纹，configId 和 tableId 未设置
+     */
+    public Map<String, TableFingerprint> readFingerprints(DatabaseConfig config) {
+        if (config.getType() != DatabaseConfig.Type.MYSQL) {
+            throw new ValidationException("Reverse engineering is only supported for MySQL, not " + config.getType());
+        }
+        DataSource dataSource = dynamicDataSourceConfig.createDataSource(config);
+        String schema = config.getDatabaseName();
+        Map<String, TableFingerprint> fingerprints = new HashMap<>();
+        Map<String, String> comments = new HashMap<>();
+        Map<String, String> columnHashes;
+        Map<String, String> indexHashes;
+        Map<String, String> foreignKeyHashes;
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(TABLE_TIMES_SQL)) {
+                statement.setString(1, schema);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        TableFingerprint fingerprint = new TableFingerprint();
+                        fingerprint.setTableCode(rs.getString("TABLE_NAME"));
+                        fingerprint.setCreateTime(getDateTime(rs, "CREATE_TIME"));
+                        fingerprint.setUpdateTime(getDateTime(rs, "UPDATE_TIME"));
+                        fingerprints.put(fingerprint.getTableCode(), fingerprint);
+                        comments.put(fingerprint.getTableCode(), rs.getString("TABLE_COMMENT"));
+                    }
+                }
+            }
+            // 默认 1024 字节会截断多列表的 GROUP_CONCAT，导致变化检测不到
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION group_concat_max_len = " + GROUP_CONCAT_MAX_LEN);
+            }
+            try {
+                columnHashes = readHashes(connection, COLUMNS_HASH_SQL, schema, false);
+                indexHashes = readHashes(connection, INDEXES_HASH_SQL, schema, false);
+                foreignKeyHashes = readHashes(connection, FOREIGN_KEYS_HASH_SQL, schema, true);
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET SESSION group_concat_max_len = DEFAULT");
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to read fingerprints of schema " + schema, e);
+        }
+
+        for (TableFingerprint fingerprint : fingerprints.values()) {
+            String tableName = fingerprint.getTableCode();
+            fingerprint.setFingerprint(sha256(String.join("\n",
+                String.valueOf(comments.get(tableName)),
+                String.valueOf(columnHashes.get(tableName)),
+                String.valueOf(indexHashes.get(tableName)),
+                String.valueOf(foreignKeyHashes.get(tableName)),
+                String.valueOf(fingerprint.getCreateTime()))));
+        }
+        return fingerprints;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private SchemaChunk readChunk(DataSource dataSource, String schema, int index, List<String[]> tables,
+                                  Map<String, UUID> tableIds, UUID projectId) {
+        List<String> tableNames = new ArrayList<>(tables.size());
+        for (String[] table : tables) {
+            tableNames.add(table[0]);
+        }
+        Map<String, List<ColumnDefinition>> columns = new HashMap<>();
+        List<TableRelation> relations = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            readColumns(connection, schema, tableNames, columns);
+            readIndexes(connection, schema, tableNames, columns);
+            readForeignKeys(connection, schema, tableNames, columns, tableIds, projectId, relations);
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to read metadata of schema " + schema
+                + " (chunk " + index + ")", e);
+        }
+
+        List<TableDesign> designs = new ArrayList<>(tables.size());
+        for (String[] table : tables) {
+            designs.add(toTableDesign(table[0], table[1], columns.getOrDefault(table[0], Collections.emptyList()),
+                tableIds.get(table[0]), projectId));
+        }
+        return new SchemaChunk(index, designs, relations);
+    }
+
+    private void readColumns(Connection connection, String schema, List<String> tableNames,
+                             Map<String, List<ColumnDefinition>> columns) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, COLUMNS_SQL, schema, tableNames, null);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                columns.computeIfAbsent(rs.getString("TABLE_NAME"), k -> new ArrayList<>()).add(toColumn(rs));
+            }
+        }
+    }
+
+    /**
+     * 把索引名挂到对应的列上，同名索引跨多列时为联合索引
+     */
+    private void readIndexes(Connection connection, String schema, List<String> tableNames,
+                             Map<String, List<ColumnDefinition>> columns) throws SQLException {
+        Map<String, ColumnDefinition> columnsByName = new HashMap<>();
+        for (Map.Entry<String, List<ColumnDefinition>> entry : columns.entrySet()) {
+            for (ColumnDefinition column : entry.getValue()) {
+                columnsByName.put(entry.getKey() + "\u0000" + column.getCode(), column);
+            }
+        }
+        try (PreparedStatement statement = prepare(connection, INDEXES_SQL, schema, tableNames, null);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ColumnDefinition column = columnsByName.get(
+                    rs.getString("TABLE_NAME") + "\u0000" + rs.getString("COLUMN_NAME"));
+                if (column == null) {
+                    // 函数索引没有对应的列
+                    continue;
+                }
+                if (column.getIndexes() == null) {
+                    column.setIndexes(new ArrayList<>());
+                }
+                column.getIndexes().add(rs.getString("INDEX_NAME"));
+            }
+        }
+    }
+
+    private void readForeignKeys(Connection connection, String schema, List<String> tableNames,
+                                 Map<String, List<ColumnDefinition>> columns, Map<String, UUID> tableIds,
+                                 UUID projectId, List<TableRelation> relations) throws SQLException {
+        // 表名 + 约束名 -> 外键，多列外键的列按约束中的顺序排列
+        Map<String, ForeignKey> foreignKeys = new LinkedHashMap<>();
+        try (PreparedStatement statement = prepare(connection, FOREIGN_KEYS_SQL, schema, tableNames, schema);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                String tableName = rs.getString("TABLE_NAME");
+                String constraintName = rs.getString("CONSTRAINT_NAME");
+                String referencedTable = rs.getString("REFERENCED_TABLE_NAME");
+                ForeignKey foreignKey = foreignKeys.computeIfAbsent(tableName + "\u0000" + constraintName,
+                    k -> new ForeignKey(tableName, constraintName, referencedTable));
+                foreignKey.columns.add(rs.getString("COLUMN_NAME"));
+                foreignKey.referencedColumns.add(rs.getString("REFERENCED_COLUMN_NAME"));
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (ForeignKey foreignKey : foreignKeys.values()) {
+            UUID targetTableId = tableIds.get(foreignKey.referencedTable);
+            if (targetTableId == null) {
+                logger.debug("Skipping foreign key {} of {}: referenced table {} was not extracted",
+                    foreignKey.name, foreignKey.table, foreignKey.referencedTable);
+                continue;
+            }
+            UUID sourceTableId = tableIds.get(foreignKey.table);
+            List<TableRelation.ColumnMapping> columnMappings = new ArrayList<>(foreignKey.columns.size());
+            for (int i = 0; i < foreignKey.columns.size(); i++) {
+                columnMappings.add(new TableRelation.ColumnMapping(
+                    TableRelation.ColumnMapping.columnId(sourceTableId, foreignKey.columns.get(i)),
+                    TableRelation.ColumnMapping.columnId(targetTableId, foreignKey.referencedColumns.get(i)),
+                    FOREIGN_KEY_MAPPING));
+            }
+            relations.add(TableRelation.builder()
+                .id(UUID.randomUUID())
+                .projectId(projectId)
+                .sourceTableId(sourceTableId)
+                .targetTableId(targetTableId)
+                .relationType(isPrimaryKey(columns.get(foreignKey.table), foreignKey.columns)
+                    ? TableRelation.RelationType.ONE_TO_ONE : TableRelation.RelationType.MANY_TO_ONE)
+                .description("FOREIGN KEY " + foreignKey.name + " (" + String.join(", ", foreignKey.columns)
+                    + ") REFERENCES " + foreignKey.referencedTable
+                    + " (" + String.join(", ", foreignKey.referencedColumns) + ")")
+                .imported(true)
+                .columnMappings(columnMappings)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        }
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, String schema, List<String> tableNames,
+                                      String trailingParameter) throws SQLException {
+        String placeholders = String.join(",", Collections.nCopies(tableNames.size(), "?"));
+        PreparedStatement statement = connection.prepareStatement(String.format(sql, placeholders));
+        int parameter = 1;
+        statement.setString(parameter++, schema);
+        for (String tableName : tableNames) {
+            statement.setString(parameter++, tableName);
+        }
+        if (trailingParameter != null) {
+            statement.setString(parameter, trailingParameter);
+        }
+        return statement;
+    }
+
+    private ColumnDefinition toColumn(ResultSet rs) throws SQLException {
+        ColumnDefinition column = new ColumnDefinition();
+        String name = rs.getString("COLUMN_NAME");
+        String comment = rs.getString("COLUMN_COMMENT");
+        column.setCode(name);
+        column.setDisplayName(displayName(name, comment));
+        column.setComment(StringUtils.hasText(comment) ? comment : null);
+        column.setNullable("YES".equalsIgnoreCase(rs.getString("IS_NULLABLE")));
+        column.setPrimaryKey("PRI".equalsIgnoreCase(rs.getString("COLUMN_KEY")));
+
+        String dataType = rs.getString("DATA_TYPE").toUpperCase(Locale.ROOT);
+        switch (dataType) {
+            case "CHAR":
+            case "VARCHAR":
+                column.setDataType(dataType);
+                long length = rs.getLong("CHARACTER_MAXIMUM_LENGTH");
+                column.setLength(rs.wasNull() ? null : (int) Math.min(length, Integer.MAX_VALUE));
+                break;
+            case "DECIMAL":
+            case "NUMERIC":
+                column.setDataType("DECIMAL");
+                column.setPrecision(getInteger(rs, "NUMERIC_PRECISION"));
+                column.setScale(getInteger(rs, "NUMERIC_SCALE"));
+                break;
+            default:
+                // 完整类型保留无符号、精度和枚举值；枚举值区分大小写，不能转换
+                String columnType = rs.getString("COLUMN_TYPE");
+                column.setDataType(columnType.indexOf('\'') >= 0 ? columnType : columnType.toUpperCase(Locale.ROOT));
+                break;
+        }
+        column.setDefaultValue(toDefaultValue(dataType, rs.getString("COLUMN_DEFAULT"), rs.getString("EXTRA")));
+        return column;
+    }
+
+    /**
+     * information_schema 中字符串默认值不带引号，表达式默认值（8.0.13+）带 DEFAULT_GENERATED 标记
+     */
+    private String toDefaultValue(String dataType, String columnDefault, String extra) {
+        if (columnDefault == null) {
+            return null;
+        }
+        boolean currentTimestamp = columnDefault.toUpperCase(Locale.ROOT).startsWith("CURRENT_TIMESTAMP");
+        if (extra != null && extra.toUpperCase(Locale.ROOT).contains("DEFAULT_GENERATED")) {
+            return currentTimestamp ? columnDefault : "(" + columnDefault + ")";
+        }
+        if (currentTimestamp || UNQUOTED_DEFAULT_TYPES.contains(dataType)) {
+            return columnDefault;
+        }
+        return "'" + columnDefault.replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+
+    private Map<String, String> readHashes(Connection connection, String sql, String schema,
+                                           boolean referencedSchema) throws SQLException {
+        Map<String, String> hashes = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, schema);
+            if (referencedSchema) {
+                statement.setString(2, schema);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    hashes.put(rs.getString("TABLE_NAME"), rs.getString("HASH"));
+                }
+            }
+        }
+        return hashes;
+    }
+
+    private String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private LocalDateTime getDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+
+    private Integer getInteger(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : (int) value;
+    }
+
+    private TableDesign toTableDesign(String tableName, String comment, List<ColumnDefinition> columns, UUID id,
+                                      UUID projectId) {
+        TableDesign design = new TableDesign();
+        design.setId(id);
+        design.setProjectId(projectId);
+        design.setCode(tableName);
+        design.setDisplayName(displayName(tableName, comment));
+        design.setComment(StringUtils.hasText(comment) ? comment : null);
+        design.setType(TableDesign.Type.TABLE);
+        design.setStatus(TableDesign.Status.ACTIVE);
+        // 表已经存在于数据库中
+        design.setSynced(true);
+        try {
+            design.setColumns(objectMapper.writeValueAsString(columns));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize columns of table " + tableName, e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        design.setCreatedAt(now);
+        design.setUpdatedAt(now);
+        return design;
+    }
+
+    private String displayName(String name, String comment) {
+        if (StringUtils.hasText(comment) && comment.length() <= MAX_DISPLAY_NAME_LENGTH) {
+            return comment;
+        }
+        return name;
+    }
+
+    private boolean isPrimaryKey(List<ColumnDefinition> columns, List<String> columnNames) {
+        if (columns == null) {
+            return false;
+        }
+        Set<String> primaryKey = new HashSet<>();
+        for (ColumnDefinition column : columns) {
+            if (column.isPrimaryKey()) {
+                primaryKey.add(column.getCode());
+            }
+        }
+        return !primaryKey.isEmpty() && primaryKey.equals(new HashSet<>(columnNames));
+    }
+
+    private static final class ForeignKey {
+        private final String table;
+        private final String name;
+        private final String referencedTable;
+        private final List<String> columns = new ArrayList<>();
+        private final List<String> referencedColumns = new ArrayList<>();
+
+        ForeignKey(String table, String name, String referencedTable) {
+            this.table = table;
+            this.name = name;
+            this.referencedTable = referencedTable;
+        }
+    }
+}
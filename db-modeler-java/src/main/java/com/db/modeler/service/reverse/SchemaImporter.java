@@ -0,0 +1,400 @@
+package com.db.modeler.service.reverse;
+
+import com.db.modeler.dto.SchemaImportProgress;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.entity.TableFingerprint;
+import com.db.modeler.entity.TableRelation;
+import com.db.modeler.exception.DatabaseConnectionException;
+import com.db.modeler.repository.TableDesignRepository;
+import com.db.modeler.repository.TableFingerprintRepository;
+import com.db.modeler.repository.TableRelationMapper;
+import com.db.modeler.service.compare.SchemaTreeBuilder;
+import com.db.modeler.service.ddl.ColumnModelCache;
+import com.db.modeler.service.relation.TableRelationGraphIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 把提取出的表结构分批保存到项目中
+ *
+ * 提取线程把每批表放入有界队列，队列满时提取暂停；调用线程逐批取出，用多行 INSERT 写入
+ * table_designs、table_relations 和外键的列映射，每批一个事务。内存中最多保留队列容量加并行提取数个批次，
+ * 与库的大小无关。
+ *
+ * 项目中已存在同名表时沿用其ID并跳过该表及以它为源表的关系；中途失败时已提交的批次保留，
+ * 重新导入会跳过这些表。
+ *
+ * 增量模式先读取每张表的结构指纹并与上次导入记录的指纹比较，只重新读取新增和变化的表：
+ * 新表插入，已有的表更新列定义并替换由外键生成的关系，上次导入过但已不存在的表连同其关系删除。
+ * 每批提交时同时记录这些表的新指纹。
+ */
+@Component
+public class SchemaImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaImporter.class);
+
+    private static final long POLL_INTERVAL_MS = 200;
+
+    @Autowired
+    private SchemaExtractor schemaExtractor;
+
+    @Autowired
+    private TableDesignRepository tableDesignRepository;
+
+    @Autowired
+    private TableRelationMapper tableRelationMapper;
+
+    @Autowired
+    private TableFingerprintRepository tableFingerprintRepository;
+
+    @Autowired
+    private TableRelationGraphIndex tableRelationGraphIndex;
+
+    @Autowired
+    private ColumnModelCache columnModelCache;
+
+    @Autowired
+    private SchemaTreeBuilder schemaTreeBuilder;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor;
+
+    private final int queueCapacity;
+
+    private final int insertBatchSize;
+
+    public SchemaImporter(PlatformTransactionManager transactionManager,
+                          @Value("${app.reverse.queue-capacity:2}") int queueCapacity,
+                          @Value("${app.reverse.insert-batch-size:100}") int insertBatchSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.insertBatchSize = Math.max(1, insertBatchSize);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "schema-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * 导入整个库的表结构
+     * @param listener 每提交一批调用一次，在调用线程中执行
+     * @return 最终结果
+     */
+    public SchemaImportProgress importSchema(DatabaseConfig config, UUID projectId,
+                                             Consumer<SchemaImportProgress> listener) {
+        return importSchema(config, projectId, false, listener);
+    }
+
+    /**
+     * 导入表结构
+     * @param incremental 为 true 时只重新读取指纹变化的表，并删除已不存在的表
+     * @param listener 每提交一批调用一次，在调用线程中执行
+     * @return 最终结果
+     */
+    public SchemaImportProgress importSchema(DatabaseConfig config, UUID projectId, boolean incremental,
+                                             Consumer<SchemaImportProgress> listener) {
+        long start = System.nanoTime();
+        Map<String, UUID> existingIds = new HashMap<>();
+        for (TableDesign header : tableDesignRepository.findHeadersByProjectId(projectId)) {
+            existingIds.put(header.getCode(), header.getId());
+        }
+        SchemaImportProgress progress = new SchemaImportProgress();
+        progress.setSchema(config.getDatabaseName());
+        progress.setIncremental(incremental);
+
+        ImportRun run = new ImportRun(config, projectId, new HashSet<>(existingIds.values()), progress, start);
+        // 全量导入也记录插入的表的指纹，之后的增量导入才能区分导入的表和同名的手工表
+        run.fingerprints = schemaExtractor.readFingerprints(config);
+        List<UUID> dropped = Collections.emptyList();
+        if (incremental) {
+            Map<String, TableFingerprint> previous = new HashMap<>();
+            for (TableFingerprint fingerprint : tableFingerprintRepository.findByConfigId(config.getId())) {
+                previous.put(fingerprint.getTableCode(), fingerprint);
+            }
+            // 项目中没有对应表设计的表按新表处理；已有表设计但没有本连接导入记录的表与全量导入一样跳过
+            Set<String> changed = new HashSet<>();
+            int skipped = 0;
+            for (TableFingerprint current : run.fingerprints.values()) {
+                UUID existingId = existingIds.get(current.getTableCode());
+                TableFingerprint last = previous.get(current.getTableCode());
+                if (existingId == null) {
+                    changed.add(current.getTableCode());
+                } else if (last == null || !existingId.equals(last.getTableId())) {
+                    skipped++;
+                } else if (!last.getFingerprint().equals(current.getFingerprint())) {
+                    changed.add(current.getTableCode());
+                    run.updatable.add(existingId);
+                }
+            }
+            dropped = new ArrayList<>();
+            for (TableFingerprint last : previous.values()) {
+                if (!run.fingerprints.containsKey(last.getTableCode())) {
+                    dropped.add(last.getTableId());
+                }
+            }
+            progress.setTotalTables(run.fingerprints.size());
+            progress.setSkippedTables(skipped);
+            progress.setUnchangedTables(run.fingerprints.size() - changed.size() - skipped);
+            logger.info("Incremental import of {}: {} of {} tables changed, {} dropped", config.getDatabaseName(),
+                changed.size(), run.fingerprints.size(), dropped.size());
+            if (!changed.isEmpty()) {
+                stream(run, existingIds, changed::contains, listener);
+            }
+        } else {
+            progress.setTotalTables(stream(run, existingIds, tableName -> true, listener));
+        }
+
+        if (!dropped.isEmpty()) {
+            List<UUID> droppedIds = dropped;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (UUID tableId : droppedIds) {
+                    tableRelationMapper.deleteByTableId(tableId);
+                    // 指纹和同步快照随表设计级联删除
+                    tableDesignRepository.deleteById(tableId);
+                }
+                tableRelationGraphIndex.invalidateAfterCompletion(projectId);
+            });
+            for (UUID tableId : droppedIds) {
+                columnModelCache.evict(tableId);
+                schemaTreeBuilder.evict(tableId);
+            }
+            progress.setDroppedTables(dropped.size());
+        }
+
+        progress.setChunkIndex(null);
+        progress.setFinished(true);
+        progress.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Imported schema {} into project {}: {} tables inserted, {} updated, {} skipped, {} unchanged, "
+                + "{} dropped, {} relations in {} ms", config.getDatabaseName(), projectId,
+            progress.getInsertedTables(), progress.getUpdatedTables(), progress.getSkippedTables(),
+            progress.getUnchangedTables(), progress.getDroppedTables(), progress.getInsertedRelations(),
+            progress.getDurationMs());
+        return progress;
+    }
+
+    /**
+     * 提取线程把批次放入队列，调用线程逐批写入
+     * @return 读取的表数量
+     */
+    private int stream(ImportRun run, Map<String, UUID> existingIds, Predicate<String> include,
+                       Consumer<SchemaImportProgress> listener) {
+        BlockingQueue<SchemaChunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean aborted = new AtomicBoolean();
+        CompletableFuture<Integer> extraction = CompletableFuture.supplyAsync(() ->
+            schemaExtractor.extract(run.config, run.projectId, existingIds, include,
+                chunk -> offer(queue, chunk, aborted)), executor);
+
+        SchemaImportProgress progress = run.progress;
+        try {
+            SchemaChunk chunk;
+            while ((chunk = next(queue, extraction)) != null) {
+                persist(chunk, run);
+                progress.setChunkIndex(chunk.getIndex());
+                progress.setCommittedChunks(progress.getCommittedChunks() + 1);
+                progress.setDurationMs((System.nanoTime() - run.start) / 1_000_000);
+                listener.accept(progress.copy());
+            }
+            return extraction.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new DatabaseConnectionException("Failed to extract schema " + run.config.getDatabaseName(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Schema import interrupted", e);
+        } finally {
+            // 写入失败时让提取线程尽快退出，不再阻塞在队列上
+            aborted.set(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void offer(BlockingQueue<SchemaChunk> queue, SchemaChunk chunk, AtomicBoolean aborted) {
+        try {
+            while (!queue.offer(chunk, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (aborted.get()) {
+                    throw new CancellationException("Schema import aborted");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Schema import interrupted");
+        }
+    }
+
+    /**
+     * 取下一批；提取结束且队列为空时返回 null。提取线程在返回前已把所有批次放入队列
+     */
+    private SchemaChunk next(BlockingQueue<SchemaChunk> queue, CompletableFuture<Integer> extraction)
+        throws InterruptedException {
+        while (true) {
+            SchemaChunk chunk = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            if (chunk != null) {
+                return chunk;
+            }
+            if (extraction.isDone()) {
+                return queue.poll();
+            }
+        }
+    }
+
+    private void persist(SchemaChunk chunk, ImportRun run) {
+        List<TableDesign> inserts = new ArrayList<>(chunk.getTables().size());
+        List<TableDesign> updates = new ArrayList<>();
+        for (TableDesign table : chunk.getTables()) {
+            if (!run.existing.contains(table.getId())) {
+                inserts.add(table);
+            } else if (run.updatable.contains(table.getId())) {
+                updates.add(table);
+            }
+        }
+        Set<UUID> writtenIds = new HashSet<>();
+        inserts.forEach(table -> writtenIds.add(table.getId()));
+        updates.forEach(table -> writtenIds.add(table.getId()));
+        List<TableRelation> relations = new ArrayList<>(chunk.getRelations().size());
+        for (TableRelation relation : chunk.getRelations()) {
+            if (writtenIds.contains(relation.getSourceTableId())) {
+                relations.add(relation);
+            }
+        }
+        List<TableFingerprint> fingerprints = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        List<TableDesign> written = new ArrayList<>(inserts);
+        written.addAll(updates);
+        for (TableDesign table : written) {
+            TableFingerprint fingerprint = run.fingerprints.get(table.getCode());
+            if (fingerprint == null) {
+                // 读取指纹之后新建的表，下次增量导入时按新表处理
+                continue;
+            }
+            fingerprint.setConfigId(run.config.getId());
+            fingerprint.setTableId(table.getId());
+            fingerprint.setScannedAt(now);
+            fingerprints.add(fingerprint);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < inserts.size(); from += insertBatchSize) {
+                tableDesignRepository.batchInsert(inserts.subList(from, Math.min(from + insertBatchSize, inserts.size())));
+            }
+            for (TableDesign table : updates) {
+                tableDesignRepository.updateFromSchema(table);
+            }
+            if (!updates.isEmpty()) {
+                List<UUID> updatedIds = new ArrayList<>(updates.size());
+                updates.forEach(table -> updatedIds.add(table.getId()));
+                tableRelationMapper.deleteForeignKeyRelationsBySourceTableIds(updatedIds);
+            }
+            for (int from = 0; from < relations.size(); from += insertBatchSize) {
+                tableRelationMapper.batchInsert(
+                    relations.subList(from, Math.min(from + insertBatchSize, relations.size())));
+            }
+            insertColumnMappings(relations);
+            if (!relations.isEmpty() || !updates.isEmpty()) {
+                // 关系直接写入和删除，没有经过关系图索引
+                tableRelationGraphIndex.invalidateAfterCompletion(run.projectId);
+            }
+            for (int from = 0; from < fingerprints.size(); from += insertBatchSize) {
+                tableFingerprintRepository.batchUpsert(
+                    fingerprints.subList(from, Math.min(from + insertBatchSize, fingerprints.size())));
+            }
+        });
+
+        SchemaImportProgress progress = run.progress;
+        progress.setInsertedTables(progress.getInsertedTables() + inserts.size());
+        progress.setUpdatedTables(progress.getUpdatedTables() + updates.size());
+        progress.setSkippedTables(progress.getSkippedTables() + chunk.getTables().size() - inserts.size()
+            - updates.size());
+        progress.setInsertedRelations(progress.getInsertedRelations() + relations.size());
+        logger.debug("Committed chunk {}: {} tables inserted, {} updated, {} relations", chunk.getIndex(),
+            inserts.size(), updates.size(), relations.size());
+    }
+
+    /**
+     * 按行数分批插入外键的列映射，每条 INSERT 不超过 insertBatchSize 行
+     */
+    private void insertColumnMappings(List<TableRelation> relations) {
+        List<TableRelation> batch = new ArrayList<>();
+        int rows = 0;
+        for (TableRelation relation : relations) {
+            List<TableRelation.ColumnMapping> mappings = relation.getColumnMappings();
+            if (mappings == null || mappings.isEmpty()) {
+                continue;
+            }
+            if (rows > 0 && rows + mappings.size() > insertBatchSize) {
+                tableRelationMapper.batchInsertColumnMappings(batch);
+                batch = new ArrayList<>();
+                rows = 0;
+            }
+            batch.add(relation);
+            rows += mappings.size();
+        }
+        if (!batch.isEmpty()) {
+            tableRelationMapper.batchInsertColumnMappings(batch);
+        }
+    }
+
+    /**
+     * 一次导入的状态，只在调用线程中访问
+     */
+    private static final class ImportRun {
+        private final DatabaseConfig config;
+        private final UUID projectId;
+        private final Set<UUID> existing;
+        private final SchemaImportProgress progress;
+        private final long start;
+        // 本次读取的指纹
+        private Map<String, TableFingerprint> fingerprints;
+        // 增量导入中需要更新的已有表设计：本连接导入过且指纹变化
+        private final Set<UUID> updatable = new HashSet<>();
+
+        ImportRun(DatabaseConfig config, UUID projectId, Set<UUID> existing, SchemaImportProgress progress,
+                  long start) {
+            this.config = config;
+            this.projectId = projectId;
+            this.existing = existing;
+            this.progress = progress;
+            this.start = start;
+        }
+    }
+}
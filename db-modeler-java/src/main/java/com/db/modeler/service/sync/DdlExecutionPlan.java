@@ -0,0 +1,61 @@
+package com.db.modeler.service.sync;
+
+import com.db.modeler.entity.TableDesign;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 按依赖分层的DDL执行计划
+ *
+ * 同一层内的表互不依赖，可以并行执行；第 n 层只依赖前 n-1 层中的表。
+ * 例外是循环依赖：同一个环中的表无法排序，放在同一层。
+ */
+public class DdlExecutionPlan {
+
+    private final List<List<TableDesign>> levels;
+    private final Map<UUID, Set<UUID>> dependencies;
+    private final Set<UUID> cyclicTableIds;
+
+    DdlExecutionPlan(List<List<TableDesign>> levels, Map<UUID, Set<UUID>> dependencies, Set<UUID> cyclicTableIds) {
+        this.levels = levels;
+        this.dependencies = dependencies;
+        this.cyclicTableIds = cyclicTableIds;
+    }
+
+    /**
+     * 执行层级，按顺序执行
+     */
+    public List<List<TableDesign>> getLevels() {
+        return levels;
+    }
+
+    /**
+     * 指定表在本计划内依赖的表
+     */
+    public Set<UUID> getDependencies(UUID tableId) {
+        return dependencies.getOrDefault(tableId, Collections.emptySet());
+    }
+
+    /**
+     * 处于循环依赖中的表，同一个环中的表在同一层，依赖环的表排在其后
+     */
+    public Set<UUID> getCyclicTableIds() {
+        return cyclicTableIds;
+    }
+
+    /**
+     * 按执行顺序展开的表列表
+     */
+    public List<TableDesign> getOrderedTables() {
+        List<TableDesign> ordered = new ArrayList<>();
+        for (List<TableDesign> level : levels) {
+            ordered.addAll(level);
+        }
+        return ordered;
+    }
+}
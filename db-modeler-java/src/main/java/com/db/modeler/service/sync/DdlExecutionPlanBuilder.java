@@ -0,0 +1,192 @@
+package com.db.modeler.service.sync;
+
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.entity.TableRelation;
+import com.db.modeler.repository.TableRelationMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 根据表关系图构建DDL执行计划
+ *
+ * 关系 source -> target 表示源表引用目标表，与循环依赖检查使用同一方向，
+ * 因此目标表总是排在源表之前。只考虑计划内的表之间的依赖，计划外的表视为已存在。
+ */
+@Component
+public class DdlExecutionPlanBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DdlExecutionPlanBuilder.class);
+
+    @Autowired
+    private TableRelationMapper tableRelationMapper;
+
+    public DdlExecutionPlan build(List<TableDesign> tables) {
+        Set<UUID> projectIds = tables.stream()
+            .map(TableDesign::getProjectId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        List<TableRelation> edges = projectIds.isEmpty()
+            ? new ArrayList<>()
+            : tableRelationMapper.selectEdgesByProjectIds(projectIds);
+        return build(tables, edges);
+    }
+
+    DdlExecutionPlan build(List<TableDesign> tables, List<TableRelation> edges) {
+        Map<UUID, TableDesign> tablesById = new LinkedHashMap<>();
+        for (TableDesign table : tables) {
+            tablesById.put(table.getId(), table);
+        }
+
+        Map<UUID, Set<UUID>> dependencies = new HashMap<>();
+        for (TableRelation edge : edges) {
+            UUID dependent = edge.getSourceTableId();
+            UUID dependency = edge.getTargetTableId();
+            if (!tablesById.containsKey(dependent) || !tablesById.containsKey(dependency)
+                || dependent.equals(dependency)) {
+                continue;
+            }
+            dependencies.computeIfAbsent(dependent, k -> new HashSet<>()).add(dependency);
+        }
+
+        // 历史数据中可能存在环：同一个环中的表缩成一个强连通分量，分量之间仍是无环图，
+        // 环中的表放在同一层，依赖这个环的表照常排在其后
+        List<List<UUID>> components = stronglyConnectedComponents(tablesById.keySet(), dependencies);
+        Map<UUID, Integer> componentOf = new HashMap<>();
+        Set<UUID> cyclicTableIds = new LinkedHashSet<>();
+        for (int i = 0; i < components.size(); i++) {
+            for (UUID tableId : components.get(i)) {
+                componentOf.put(tableId, i);
+            }
+            if (components.get(i).size() > 1) {
+                cyclicTableIds.addAll(components.get(i));
+            }
+        }
+
+        List<Set<Integer>> dependents = new ArrayList<>(components.size());
+        int[] inDegree = new int[components.size()];
+        for (int i = 0; i < components.size(); i++) {
+            dependents.add(new HashSet<>());
+        }
+        for (Map.Entry<UUID, Set<UUID>> entry : dependencies.entrySet()) {
+            int dependent = componentOf.get(entry.getKey());
+            for (UUID dependency : entry.getValue()) {
+                int dependencyComponent = componentOf.get(dependency);
+                if (dependencyComponent != dependent && dependents.get(dependencyComponent).add(dependent)) {
+                    inDegree[dependent]++;
+                }
+            }
+        }
+
+        // Kahn 算法，逐层剥离入度为 0 的分量
+        List<List<TableDesign>> levels = new ArrayList<>();
+        List<Integer> ready = new ArrayList<>();
+        for (int i = 0; i < components.size(); i++) {
+            if (inDegree[i] == 0) {
+                ready.add(i);
+            }
+        }
+        while (!ready.isEmpty()) {
+            List<TableDesign> level = new ArrayList<>();
+            List<Integer> next = new ArrayList<>();
+            for (int component : ready) {
+                for (UUID tableId : components.get(component)) {
+                    level.add(tablesById.get(tableId));
+                }
+                for (int dependent : dependents.get(component)) {
+                    if (--inDegree[dependent] == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            level.sort(Comparator.comparing(TableDesign::getCode, Comparator.nullsLast(Comparator.naturalOrder())));
+            levels.add(level);
+            ready = next;
+        }
+
+        if (!cyclicTableIds.isEmpty()) {
+            logger.warn("Circular table dependencies detected among {} tables", cyclicTableIds.size());
+        }
+        return new DdlExecutionPlan(levels, dependencies, cyclicTableIds);
+    }
+
+    /**
+     * Tarjan 算法求强连通分量，用显式栈代替递归以支持很长的依赖链
+     */
+    private static List<List<UUID>> stronglyConnectedComponents(Collection<UUID> nodes, Map<UUID, Set<UUID>> edges) {
+        Map<UUID, Integer> index = new HashMap<>();
+        Map<UUID, Integer> lowLink = new HashMap<>();
+        Deque<UUID> stack = new ArrayDeque<>();
+        Set<UUID> onStack = new HashSet<>();
+        List<List<UUID>> components = new ArrayList<>();
+
+        for (UUID root : nodes) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+            Deque<UUID> path = new ArrayDeque<>();
+            Deque<Iterator<UUID>> iterators = new ArrayDeque<>();
+            index.put(root, index.size());
+            lowLink.put(root, index.get(root));
+            stack.push(root);
+            onStack.add(root);
+            path.push(root);
+            iterators.push(edges.getOrDefault(root, Collections.emptySet()).iterator());
+
+            while (!path.isEmpty()) {
+                UUID node = path.peek();
+                Iterator<UUID> iterator = iterators.peek();
+                if (iterator.hasNext()) {
+                    UUID next = iterator.next();
+                    if (!index.containsKey(next)) {
+                        index.put(next, index.size());
+                        lowLink.put(next, index.get(next));
+                        stack.push(next);
+                        onStack.add(next);
+                        path.push(next);
+                        iterators.push(edges.getOrDefault(next, Collections.emptySet()).iterator());
+                    } else if (onStack.contains(next)) {
+                        lowLink.put(node, Math.min(lowLink.get(node), index.get(next)));
+                    }
+                    continue;
+                }
+                path.pop();
+                iterators.pop();
+                if (!path.isEmpty()) {
+                    UUID parent = path.peek();
+                    lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(node)));
+                }
+                if (lowLink.get(node).equals(index.get(node))) {
+                    List<UUID> component = new ArrayList<>();
+                    UUID member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(node));
+                    components.add(component);
+                }
+            }
+        }
+        return components;
+    }
+}
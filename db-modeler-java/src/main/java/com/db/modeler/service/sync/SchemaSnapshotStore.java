@@ -0,0 +1,126 @@
+package com.db.modeler.service.sync;
+
+import com.db.modeler.entity.ColumnDefinition;
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.entity.TableSchemaSnapshot;
+import com.db.modeler.repository.TableSchemaSnapshotRepository;
+import com.db.modeler.service.ddl.ColumnModelCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 表结构快照存储
+ *
+ * 每次成功同步后记录实际应用到目标数据源的列定义，下次同步时以快照为基准生成 ALTER，
+ * 只执行设计相对数据库的增量变更。
+ */
+@Component
+public class SchemaSnapshotStore {
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    @Autowired
+    private TableSchemaSnapshotRepository tableSchemaSnapshotRepository;
+
+    @Autowired
+    private ColumnModelCache columnModelCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 获取表在目标数据源上的快照
+     * @return 只包含表代码和列定义的表设计，没有快照时返回 null
+     */
+    public TableDesign findSnapshot(UUID tableId, String target) {
+        TableSchemaSnapshot snapshot = tableSchemaSnapshotRepository.findByTableIdAndTarget(tableId, target);
+        return snapshot == null ? null : toTableDesign(snapshot);
+    }
+
+    /**
+     * 批量获取多张表在同一目标数据源上的快照
+     * @return 表ID到快照的映射，没有快照的表不在结果中
+     */
+    public Map<UUID, TableDesign> findSnapshots(Collection<UUID> tableIds, String target) {
+        Map<UUID, TableDesign> snapshots = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(tableIds);
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+            for (TableSchemaSnapshot snapshot : tableSchemaSnapshotRepository.findByTargetAndTableIds(target, batch)) {
+                snapshots.put(snapshot.getTableId(), toTableDesign(snapshot));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * 记录表设计已成功同步到目标数据源
+     */
+    public void record(TableDesign tableDesign, String target) {
+        List<ColumnDefinition> columns;
+        try {
+            columns = columnModelCache.getColumns(tableDesign);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize schema snapshot for table " + tableDesign.getCode(), e);
+        }
+        upsert(tableDesign.getId(), target, tableDesign.getCode(), columns);
+    }
+
+    /**
+     * 以目标数据源上的实际列定义替换快照，下次同步以实际结构为基准生成 ALTER
+     */
+    public void replace(UUID tableId, String target, String tableCode, List<ColumnDefinition> columns) {
+        upsert(tableId, target, tableCode, columns);
+    }
+
+    /**
+     * 删除表在所有目标数据源上的快照
+     */
+    public void deleteSnapshots(UUID tableId) {
+        tableSchemaSnapshotRepository.deleteByTableId(tableId);
+    }
+
+    /**
+     * 删除多张表在一个目标数据源上的快照，下次同步生成 CREATE
+     */
+    public void deleteSnapshots(Collection<UUID> tableIds, String target) {
+        List<UUID> ids = new ArrayList<>(tableIds);
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            tableSchemaSnapshotRepository.deleteByTargetAndTableIds(target,
+                ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size())));
+        }
+    }
+
+    private void upsert(UUID tableId, String target, String tableCode, List<ColumnDefinition> columns) {
+        TableSchemaSnapshot snapshot = new TableSchemaSnapshot();
+        snapshot.setTableId(tableId);
+        snapshot.setTarget(target);
+        snapshot.setTableCode(tableCode);
+        try {
+            snapshot.setColumns(objectMapper.writeValueAsString(columns));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize schema snapshot for table " + tableCode, e);
+        }
+        snapshot.setSyncedAt(LocalDateTime.now());
+        tableSchemaSnapshotRepository.upsert(snapshot);
+    }
+
+    private TableDesign toTableDesign(TableSchemaSnapshot snapshot) {
+        // 不设置ID，避免快照与当前设计在列定义缓存中互相覆盖
+        TableDesign tableDesign = new TableDesign();
+        tableDesign.setCode(snapshot.getTableCode());
+        tableDesign.setColumns(snapshot.getColumns());
+        tableDesign.setSynced(true);
+        return tableDesign;
+    }
+}
@@ -0,0 +1,482 @@
+package com.db.modeler.service.sync;
+
+import com.db.modeler.dto.TableSyncResult;
+import com.db.modeler.entity.DatabaseConfig;
+import com.db.modeler.entity.TableDesign;
+import com.db.modeler.exception.ValidationException;
+import com.db.modeler.repository.TableDesignRepository;
+import com.db.modeler.service.DDLGeneratorService;
+import com.db.modeler.service.DatabaseConfigService;
+import com.db.modeler.service.connection.TargetHealthMonitor;
+import com.db.modeler.service.ddl.OnlineAlterPlan;
+import com.db.modeler.service.ddl.ParallelDdlGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * 批量表同步引擎
+ *
+ * 按目标数据源对表分组，每个数据源最多并行执行 {@code app.sync.max-concurrency-per-target} 条DDL，
+ * 每张表的同步状态单独提交，结果逐表回调给调用方。按执行计划同步时逐层执行，
+ * 依赖的表同步失败时直接跳过，避免注定失败的DDL。
+ *
+ * 目标数据源上已有结构快照的表以快照为基准生成 ALTER，否则生成 CREATE；成功后更新快照。
+ * DDL 在目标数据库配置对应的共享连接池上执行，每个并发通道从池中取一个连接并在整批表之间复用。
+ * 健康监控认定不可用的目标直接判为失败。
+ */
+@Component
+public class TableSyncEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableSyncEngine.class);
+
+    // 应用自身的数据源
+    public static final String DEFAULT_TARGET = "default";
+
+    private static final int CONNECTION_VALIDATION_TIMEOUT_SECONDS = 2;
+
+    @Autowired
+    private TableDesignRepository tableDesignRepository;
+
+    @Autowired
+    private DDLGeneratorService ddlGeneratorService;
+
+    @Autowired
+    private DatabaseConfigService databaseConfigService;
+
+    @Autowired
+    private SchemaSnapshotStore schemaSnapshotStore;
+
+    @Autowired
+    private ParallelDdlGenerator parallelDdlGenerator;
+
+    @Autowired
+    private TargetDataSourceResolver targetDataSourceResolver;
+
+    @Autowired
+    private TargetHealthMonitor targetHealthMonitor;
+
+    @Autowired
+    @Qualifier("tableSyncExecutor")
+    private Executor tableSyncExecutor;
+
+    @Value("${app.sync.max-concurrency-per-target:4}")
+    private int maxConcurrencyPerTarget;
+
+    @Value("${app.ddl.online-alter:true}")
+    private boolean onlineAlter;
+
+    /**
+     * 按执行计划逐层同步，同一层内并行执行
+     * @param plan DDL执行计划
+     * @param listener 单表结果回调，会在同步线程中并发调用，可为 null
+     * @return 所有表的同步结果
+     */
+    public List<TableSyncResult> syncPlan(DdlExecutionPlan plan, Consumer<TableSyncResult> listener) {
+        List<TableSyncResult> results = new ArrayList<>();
+        Set<UUID> failedTableIds = new HashSet<>();
+
+        for (List<TableDesign> level : plan.getLevels()) {
+            List<TableDesign> runnable = new ArrayList<>(level.size());
+            for (TableDesign table : level) {
+                UUID failedDependency = findFailedDependency(plan, table, failedTableIds);
+                if (failedDependency == null) {
+                    runnable.add(table);
+                    continue;
+                }
+                TableSyncResult skipped = newResult(null, table);
+                skipped.setStatus(TableSyncResult.Status.SKIPPED);
+                skipped.setError("Dependency table " + failedDependency + " was not synchronized");
+                failedTableIds.add(table.getId());
+                results.add(skipped);
+                notifyListener(listener, skipped);
+            }
+
+            for (TableSyncResult result : syncTables(runnable, listener)) {
+                if (result.getStatus() == TableSyncResult.Status.FAILED) {
+                    failedTableIds.add(result.getTableId());
+                }
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private UUID findFailedDependency(DdlExecutionPlan plan, TableDesign table, Set<UUID> failedTableIds) {
+        for (UUID dependency : plan.getDependencies(table.getId())) {
+            if (failedTableIds.contains(dependency)) {
+                return dependency;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 同步尚未同步的表
+     * @param tables 待同步的表设计
+     * @param listener 单表结果回调，会在同步线程中并发调用，可为 null
+     * @return 所有表的同步结果
+     */
+    public List<TableSyncResult> syncTables(List<TableDesign> tables, Consumer<TableSyncResult> listener) {
+        List<TableSyncResult> results = Collections.synchronizedList(new ArrayList<>(tables.size()));
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+
+        for (Map.Entry<String, List<TableDesign>> entry : groupByTarget(tables).entrySet()) {
+            String target = entry.getKey();
+            if (isKnownDown(target)) {
+                // 健康监控已确认目标不可用，不再逐表等待连接超时
+                logger.warn("Skipping {} tables for target {} because it is down", entry.getValue().size(), target);
+                for (TableDesign table : entry.getValue()) {
+                    TableSyncResult result = newResult(target, table);
+                    result.setStatus(TableSyncResult.Status.FAILED);
+                    result.setError("Target database " + target + " is down according to the health monitor");
+                    results.add(result);
+                    notifyListener(listener, result);
+                }
+                continue;
+            }
+            Map<UUID, TableDesign> snapshots = schemaSnapshotStore.findSnapshots(tableIds(entry.getValue()), target);
+            Queue<TableDesign> pending = new ConcurrentLinkedQueue<>(entry.getValue());
+            int lanes = Math.min(Math.max(1, maxConcurrencyPerTarget), entry.getValue().size());
+            for (int i = 0; i < lanes; i++) {
+                workers.add(CompletableFuture.runAsync(
+                    () -> drain(target, snapshots, pending, results, listener), tableSyncExecutor));
+            }
+        }
+
+        CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).join();
+        return results;
+    }
+
+    private boolean isKnownDown(String target) {
+        return !DEFAULT_TARGET.equals(target) && targetHealthMonitor.isDown(UUID.fromString(target));
+    }
+
+    private void drain(String target, Map<UUID, TableDesign> snapshots, Queue<TableDesign> pending,
+                       List<TableSyncResult> results, Consumer<TableSyncResult> listener) {
+        try (LaneConnection connection = new LaneConnection(target)) {
+            TableDesign tableDesign;
+            while ((tableDesign = pending.poll()) != null) {
+                TableSyncResult result = syncTable(target, tableDesign, snapshots.get(tableDesign.getId()), connection);
+                results.add(result);
+                notifyListener(listener, result);
+            }
+        }
+    }
+
+    private void notifyListener(Consumer<TableSyncResult> listener, TableSyncResult result) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.accept(result);
+        } catch (RuntimeException e) {
+            logger.warn("Sync result listener failed for table {}", result.getTableCode(), e);
+        }
+    }
+
+    private TableSyncResult newResult(String target, TableDesign tableDesign) {
+        TableSyncResult result = new TableSyncResult();
+        result.setTableId(tableDesign.getId());
+        result.setTableCode(tableDesign.getCode());
+        result.setProjectId(tableDesign.getProjectId());
+        result.setTarget(target);
+        return result;
+    }
+
+    private TableSyncResult syncTable(String target, TableDesign tableDesign, TableDesign snapshot,
+                                      LaneConnection connection) {
+        TableSyncResult result = newResult(target, tableDesign);
+
+        long start = System.nanoTime();
+        try {
+            if (!StringUtils.hasText(tableDesign.getColumns())) {
+                throw new ValidationException("Table columns are required for database synchronization");
+            }
+
+            Map<String, String> generated = generateSyncDDL(tableDesign, snapshot);
+            result.setDdlType(generated.get("type"));
+            String ddl = generated.get("ddl");
+            if (StringUtils.hasText(ddl)) {
+                logger.info("Executing {} DDL for table {} on target {}", generated.get("type"), tableDesign.getCode(), target);
+                ddlGeneratorService.executeDDL(ddl, connection.get());
+                result.setStatus(TableSyncResult.Status.SUCCESS);
+            } else {
+                result.setStatus(TableSyncResult.Status.UNCHANGED);
+            }
+
+            // 单条语句自动提交，失败的表不影响其他表
+            schemaSnapshotStore.record(tableDesign, target);
+            tableDesignRepository.updateSyncStatus(tableDesign.getId(), true);
+            tableDesign.setSynced(true);
+        } catch (Exception e) {
+            logger.error("Failed to synchronize table {} to database", tableDesign.getCode(), e);
+            result.setStatus(TableSyncResult.Status.FAILED);
+            result.setError(e.getMessage());
+            connection.discardIfBroken();
+        }
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * 预览把表同步到各自目标数据源所需的DDL，同一目标数据源的快照一次加载，DDL并行生成
+     * @param tables 表设计
+     * @return 与输入顺序一致的预览结果：tableName、target、status、type（CREATE/ALTER）、ddl，
+     *         在线 ALTER 时还包含 algorithm、lock 和 warning，失败时包含 error
+     */
+    public List<Map<String, String>> previewSyncDDL(List<TableDesign> tables) {
+        return previewSyncDDL(tables, false);
+    }
+
+    /**
+     * 预览同步DDL，live 为 true 时再对照目标数据库中实际存在的表：
+     * 每个目标数据源取一个池化连接读取一次表清单，结果额外包含 exists，
+     * CREATE 的表已存在、ALTER 的表不存在或目标不可达时给出 warning
+     * @param tables 表设计
+     * @param live 是否对照目标数据库
+     * @return 与输入顺序一致的预览结果
+     */
+    public List<Map<String, String>> previewSyncDDL(List<TableDesign> tables, boolean live) {
+        Map<UUID, TableDesign> snapshots = new HashMap<>();
+        Map<UUID, String> targets = new HashMap<>();
+        Map<String, Set<String>> liveTables = new HashMap<>();
+        Map<String, String> liveErrors = new HashMap<>();
+        for (Map.Entry<String, List<TableDesign>> entry : groupByTarget(tables).entrySet()) {
+            snapshots.putAll(schemaSnapshotStore.findSnapshots(tableIds(entry.getValue()), entry.getKey()));
+            for (TableDesign table : entry.getValue()) {
+                targets.put(table.getId(), entry.getKey());
+            }
+            if (live) {
+                try {
+                    liveTables.put(entry.getKey(), loadTableNames(entry.getKey()));
+                } catch (Exception e) {
+                    logger.warn("Failed to read tables from target {}", entry.getKey(), e);
+                    liveErrors.put(entry.getKey(), e.getMessage());
+                }
+            }
+        }
+        List<Map<String, String>> previews = parallelDdlGenerator.generate(tables,
+            table -> previewSyncDDL(table, targets.get(table.getId()), snapshots.get(table.getId())));
+        if (live) {
+            for (Map<String, String> preview : previews) {
+                checkAgainstTarget(preview, liveTables.get(preview.get("target")), liveErrors.get(preview.get("target")));
+            }
+        }
+        return previews;
+    }
+
+    private Set<String> loadTableNames(String target) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (Connection connection = targetDataSourceResolver.getDataSource(target).getConnection();
+             ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), null, "%",
+                 new String[]{"TABLE"})) {
+            while (rs.next()) {
+                names.add(rs.getString("TABLE_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+
+    private void checkAgainstTarget(Map<String, String> preview, Set<String> tableNames, String error) {
+        if (!"success".equals(preview.get("status"))) {
+            return;
+        }
+        if (tableNames == null) {
+            addWarning(preview, "Target database is unreachable: " + error);
+            return;
+        }
+        String tableName = preview.get("tableName");
+        boolean exists = tableName != null && tableNames.contains(tableName.toLowerCase(Locale.ROOT));
+        preview.put("exists", String.valueOf(exists));
+        if (exists && "CREATE".equals(preview.get("type"))) {
+            addWarning(preview, "Table already exists in target database");
+        } else if (!exists && "ALTER".equals(preview.get("type"))) {
+            addWarning(preview, "Table does not exist in target database");
+        }
+    }
+
+    private void addWarning(Map<String, String> preview, String warning) {
+        preview.merge("warning", warning, (existing, added) -> existing + "; " + added);
+    }
+
+    private Map<String, String> previewSyncDDL(TableDesign tableDesign, String target, TableDesign snapshot) {
+        Map<String, String> result;
+        try {
+            if (!StringUtils.hasText(tableDesign.getColumns())) {
+                throw new ValidationException("Table columns are required for database synchronization");
+            }
+            result = generateSyncDDL(tableDesign, snapshot);
+            result.put("status", "success");
+        } catch (Exception e) {
+            logger.error("Failed to generate DDL preview for table {}", tableDesign.getCode(), e);
+            result = new HashMap<>();
+            result.put("status", "error");
+            result.put("error", e.getMessage());
+        }
+        result.put("tableName", tableDesign.getCode());
+        result.put("target", target);
+        return result;
+    }
+
+    private Map<String, String> generateSyncDDL(TableDesign tableDesign, TableDesign snapshot) {
+        Map<String, String> generated = new HashMap<>();
+        if (snapshot != null) {
+            generated.put("type", "ALTER");
+            generated.put("ddl", generateAlterDDL(snapshot, tableDesign, generated));
+        } else if (tableDesign.isSynced()) {
+            // 没有快照的已同步表（快照功能之前同步的），无法得知数据库中的结构，本次同步只记录基准
+            generated.put("type", "ALTER");
+            generated.put("ddl", "");
+            generated.put("warning", "No schema snapshot for this target; the current design is recorded as baseline");
+        } else {
+            generated.put("type", "CREATE");
+            generated.put("ddl", ddlGeneratorService.generateCreateTableDDL(tableDesign));
+        }
+        return generated;
+    }
+
+    /**
+     * 生成 ALTER 语句；在线模式下把执行算法写入 report，回退为复制表时记录警告
+     */
+    private String generateAlterDDL(TableDesign oldTableDesign, TableDesign newTableDesign, Map<String, String> report) {
+        if (!onlineAlter) {
+            return ddlGeneratorService.generateAlterTableDDL(oldTableDesign, newTableDesign);
+        }
+        OnlineAlterPlan plan = ddlGeneratorService.generateOnlineAlterTableDDL(oldTableDesign, newTableDesign);
+        if (plan.isEmpty()) {
+            return "";
+        }
+        report.put("algorithm", plan.getAlgorithm().name());
+        if (plan.getLock() != null) {
+            report.put("lock", plan.getLock());
+        }
+        if (!plan.isOnline()) {
+            logger.warn("ALTER for table {} cannot run online and falls back to ALGORITHM=COPY: {}",
+                newTableDesign.getCode(), plan.getCopyReasons());
+            report.put("warning", "Falls back to ALGORITHM=COPY: " + String.join("; ", plan.getCopyReasons()));
+        }
+        return plan.getDdl();
+    }
+
+    /**
+     * 一个同步通道使用的目标连接：第一次执行DDL时才从连接池获取，之后在整批表之间复用。
+     * 获取失败时记住异常，通道中剩余的表直接失败，不再逐表等待连接超时。
+     */
+    private class LaneConnection implements AutoCloseable {
+
+        private final String target;
+        private Connection connection;
+        private SQLException failure;
+
+        LaneConnection(String target) {
+            this.target = target;
+        }
+
+        Connection get() throws SQLException {
+            if (failure != null) {
+                throw failure;
+            }
+            if (connection == null) {
+                try {
+                    connection = targetDataSourceResolver.getDataSource(target).getConnection();
+                } catch (SQLException e) {
+                    failure = e;
+                    throw e;
+                } catch (RuntimeException e) {
+                    failure = new SQLException(e.getMessage(), e);
+                    throw failure;
+                }
+            }
+            return connection;
+        }
+
+        /**
+         * DDL 执行失败后检查连接，已失效的连接归还连接池，下一张表重新获取
+         */
+        void discardIfBroken() {
+            if (connection == null) {
+                return;
+            }
+            try {
+                if (connection.isValid(CONNECTION_VALIDATION_TIMEOUT_SECONDS)) {
+                    return;
+                }
+            } catch (SQLException e) {
+                logger.debug("Connection validation failed for target {}", target, e);
+            }
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (connection == null) {
+                return;
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.warn("Failed to release connection for target {}", target, e);
+            }
+            connection = null;
+        }
+    }
+
+    private List<UUID> tableIds(List<TableDesign> tables) {
+        List<UUID> ids = new ArrayList<>(tables.size());
+        for (TableDesign table : tables) {
+            ids.add(table.getId());
+        }
+        return ids;
+    }
+
+    private Map<String, List<TableDesign>> groupByTarget(List<TableDesign> tables) {
+        Map<UUID, String> targetByProject = new HashMap<>();
+        Map<String, List<TableDesign>> tablesByTarget = new LinkedHashMap<>();
+        for (TableDesign table : tables) {
+            String target = targetByProject.computeIfAbsent(table.getProjectId(), this::resolveTarget);
+            tablesByTarget.computeIfAbsent(target, k -> new ArrayList<>()).add(table);
+        }
+        return tablesByTarget;
+    }
+
+    /**
+     * 解析项目的目标数据源：第一个 ACTIVE 的数据库配置ID，项目确实没有 ACTIVE 的配置时为 default
+     *
+     * 读取数据库配置失败时抛出异常，不能回退到 default，否则项目的 DDL 会在应用自身的数据库上执行
+     */
+    public String resolveTarget(UUID projectId) {
+        if (projectId == null) {
+            return DEFAULT_TARGET;
+        }
+        for (DatabaseConfig config : databaseConfigService.getDatabaseConfigsByProjectId(projectId)) {
+            if (config.getStatus() == DatabaseConfig.Status.ACTIVE) {
+                return config.getId().toString();
+            }
+        }
+        return DEFAULT_TARGET;
+    }
+}
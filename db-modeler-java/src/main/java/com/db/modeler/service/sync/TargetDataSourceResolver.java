@@ -0,0 +1,38 @@
+package com.db.modeler.service.sync;
+
+import com.db.modeler.config.DynamicDataSourceConfig;
+import com.db.modeler.exception.DatabaseConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * 把同步目标解析为连接池：default 使用应用自身的数据源，其他目标使用数据库配置对应的共享连接池
+ */
+@Component
+public class TargetDataSourceResolver {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DynamicDataSourceConfig dynamicDataSourceConfig;
+
+    /**
+     * @param target 同步目标，见 {@link TableSyncEngine#resolveTarget(UUID)}
+     * @return 目标的连接池
+     * @throws DatabaseConnectionException 数据库配置不存在时
+     */
+    public DataSource getDataSource(String target) {
+        if (TableSyncEngine.DEFAULT_TARGET.equals(target)) {
+            return dataSource;
+        }
+        DataSource targetDataSource = dynamicDataSourceConfig.getDataSource(UUID.fromString(target));
+        if (targetDataSource == null) {
+            throw new DatabaseConnectionException("No database config found for target: " + target);
+        }
+        return targetDataSource;
+    }
+}
@@ -72,3 +72,106 @@ CREATE TABLE IF NOT EXISTS table_designs (
     FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
     UNIQUE KEY uk_table_design_code_per_project (project_id, code)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建表结构快照表：记录每张表最近一次成功同步到各目标数据源的列定义
+CREATE TABLE IF NOT EXISTS table_schema_snapshots (
+    table_id VARCHAR(36) NOT NULL,
+    target VARCHAR(64) NOT NULL,
+    table_code VARCHAR(100) NOT NULL,
+    columns LONGTEXT NOT NULL,
+    synced_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (table_id, target),
+    FOREIGN KEY (table_id) REFERENCES table_designs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建反向工程表指纹表：记录每个数据库配置中每张表最近一次导入时的结构指纹，增量导入只重新读取指纹变化的表
+CREATE TABLE IF NOT EXISTS reverse_table_fingerprints (
+    config_id VARCHAR(36) NOT NULL,
+    table_code VARCHAR(100) NOT NULL,
+    table_id VARCHAR(36) NOT NULL,
+    fingerprint CHAR(64) NOT NULL,
+    create_time DATETIME,
+    update_time DATETIME,
+    scanned_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (config_id, table_code),
+    FOREIGN KEY (config_id) REFERENCES database_configs(id) ON DELETE CASCADE,
+    FOREIGN KEY (table_id) REFERENCES table_designs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建结构漂移报告表：记录已同步的表设计与目标数据库实际结构不一致的情况，每张表每个目标只保留最近一次
+CREATE TABLE IF NOT EXISTS schema_drift_reports (
+    config_id VARCHAR(36) NOT NULL,
+    table_id VARCHAR(36) NOT NULL,
+    project_id VARCHAR(36) NOT NULL,
+    table_code VARCHAR(100) NOT NULL,
+    drift_type VARCHAR(20) NOT NULL,
+    details LONGTEXT,
+    detected_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (config_id, table_id),
+    INDEX idx_drift_project (project_id),
+    FOREIGN KEY (config_id) REFERENCES database_configs(id) ON DELETE CASCADE,
+    FOREIGN KEY (table_id) REFERENCES table_designs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建数据映射表：配置从源数据库表到目标数据库表的数据迁移，configuration 和 mapping_rules 为 JSON
+CREATE TABLE IF NOT EXISTS data_mappings (
+    id VARCHAR(36) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    type VARCHAR(20) NOT NULL,
+    source_type VARCHAR(20) NOT NULL,
+    target_type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'DRAFT',
+    configuration TEXT,
+    mapping_rules TEXT,
+    schedule VARCHAR(100),
+    last_execution_time DATETIME,
+    next_execution_time DATETIME,
+    execution_count INT NOT NULL DEFAULT 0,
+    success_count INT NOT NULL DEFAULT 0,
+    failure_count INT NOT NULL DEFAULT 0,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建表关系表：imported 为 true 的关系由反向工程从外键生成，重新导入时重新生成
+CREATE TABLE IF NOT EXISTS table_relations (
+    id VARCHAR(36) NOT NULL,
+    project_id VARCHAR(36) NOT NULL,
+    source_table_id VARCHAR(36) NOT NULL,
+    target_table_id VARCHAR(36) NOT NULL,
+    relation_type VARCHAR(20) NOT NULL,
+    description TEXT,
+    imported TINYINT(1) NOT NULL DEFAULT 0,
+    source_fields JSON,
+    target_fields JSON,
+    metadata JSON,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    INDEX idx_relations_project (project_id),
+    INDEX idx_relations_source (source_table_id),
+    INDEX idx_relations_target (target_table_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 在没有 imported 列的已有表关系表上补充该列，列已存在时执行空语句，每次启动都可重复执行
+SET @add_relation_imported = (
+    SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE table_relations ADD COLUMN imported TINYINT(1) NOT NULL DEFAULT 0',
+        'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'table_relations' AND COLUMN_NAME = 'imported'
+);
+PREPARE add_relation_imported FROM @add_relation_imported;
+EXECUTE add_relation_imported;
+DEALLOCATE PREPARE add_relation_imported;
+
+-- 创建表关系列映射表：关系的源列与目标列一一对应，随关系级联删除
+CREATE TABLE IF NOT EXISTS table_relation_column_mappings (
+    relation_id VARCHAR(36) NOT NULL,
+    source_column_id VARCHAR(36),
+    target_column_id VARCHAR(36),
+    mapping_type VARCHAR(20),
+    INDEX idx_column_mappings_relation (relation_id),
+    FOREIGN KEY (relation_id) REFERENCES table_relations(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -5,7 +5,12 @@ DROP TABLE IF EXISTS field_template_tags;
 DROP TABLE IF EXISTS template_tag;
 DROP TABLE IF EXISTS template_tag_relation;
 DROP TABLE IF EXISTS tag;
+DROP TABLE IF EXISTS data_mappings;
+DROP TABLE IF EXISTS schema_drift_reports;
+DROP TABLE IF EXISTS reverse_table_fingerprints;
+DROP TABLE IF EXISTS table_schema_snapshots;
 DROP TABLE IF EXISTS table_designs;
+DROP TABLE IF EXISTS table_relation_column_mappings;
 DROP TABLE IF EXISTS table_relations;
 DROP TABLE IF EXISTS graph_layouts;
 DROP TABLE IF EXISTS project_members;
@@ -93,6 +98,46 @@ CREATE TABLE table_designs (
     UNIQUE KEY uk_project_code (project_id, code)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='表设计';
 
+-- 创建表结构快照表
+CREATE TABLE table_schema_snapshots (
+    table_id VARCHAR(36) NOT NULL COMMENT '表设计ID',
+    target VARCHAR(64) NOT NULL COMMENT '目标数据源：数据库配置ID或default',
+    table_code VARCHAR(64) NOT NULL COMMENT '同步时的表代码',
+    columns JSON NOT NULL COMMENT '同步时的列定义',
+    synced_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '同步时间',
+    PRIMARY KEY (table_id, target),
+    FOREIGN KEY (table_id) REFERENCES table_designs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='表结构快照';
+
+-- 创建反向工程表指纹表
+CREATE TABLE reverse_table_fingerprints (
+    config_id VARCHAR(36) NOT NULL COMMENT '数据库配置ID',
+    table_code VARCHAR(100) NOT NULL COMMENT '数据库中的表名',
+    table_id VARCHAR(36) NOT NULL COMMENT '导入生成的表设计ID',
+    fingerprint CHAR(64) NOT NULL COMMENT '表结构指纹',
+    create_time DATETIME COMMENT '数据库中表的创建时间',
+    update_time DATETIME COMMENT '数据库中表的更新时间',
+    scanned_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '最近导入时间',
+    PRIMARY KEY (config_id, table_code),
+    FOREIGN KEY (config_id) REFERENCES database_configs(id) ON DELETE CASCADE,
+    FOREIGN KEY (table_id) REFERENCES table_designs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='反向工程表指纹';
+
+-- 创建结构漂移报告表
+CREATE TABLE schema_drift_reports (
+    config_id VARCHAR(36) NOT NULL COMMENT '数据库配置ID',
+    table_id VARCHAR(36) NOT NULL COMMENT '表设计ID',
+    project_id VARCHAR(36) NOT NULL COMMENT '项目ID',
+    table_code VARCHAR(100) NOT NULL COMMENT '表代码',
+    drift_type VARCHAR(20) NOT NULL COMMENT '漂移类型：MODIFIED,MISSING',
+    details LONGTEXT COMMENT '差异详情',
+    detected_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '检测时间',
+    PRIMARY KEY (config_id, table_id),
+    INDEX idx_drift_project (project_id),
+    FOREIGN KEY (config_id) REFERENCES database_configs(id) ON DELETE CASCADE,
+    FOREIGN KEY (table_id) REFERENCES table_designs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='结构漂移报告';
+
 -- 创建表关系表
 CREATE TABLE table_relations (
     id VARCHAR(36) NOT NULL PRIMARY KEY COMMENT '主键ID',
@@ -100,6 +145,8 @@ CREATE TABLE table_relations (
     source_table_id VARCHAR(36) NOT NULL COMMENT '源表ID',
     target_table_id VARCHAR(36) NOT NULL COMMENT '目标表ID',
     relation_type VARCHAR(20) NOT NULL COMMENT '关系类型：ONE_TO_ONE,ONE_TO_MANY,MANY_TO_MANY',
+    description TEXT COMMENT '关系描述',
+    imported TINYINT(1) NOT NULL DEFAULT 0 COMMENT '是否由反向工程从外键生成',
     source_fields JSON COMMENT '源表字段',
     target_fields JSON COMMENT '目标表字段',
     metadata JSON COMMENT '元数据',
@@ -110,6 +157,16 @@ CREATE TABLE table_relations (
     INDEX idx_relations_target (target_table_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='表关系';
 
+-- 创建表关系列映射表
+CREATE TABLE table_relation_column_mappings (
+    relation_id VARCHAR(36) NOT NULL COMMENT '表关系ID',
+    source_column_id VARCHAR(36) COMMENT '源列ID',
+    target_column_id VARCHAR(36) COMMENT '目标列ID',
+    mapping_type VARCHAR(20) COMMENT '映射类型：PRIMARY_KEY,FOREIGN_KEY,REFERENCE',
+    INDEX idx_column_mappings_relation (relation_id),
+    FOREIGN KEY (relation_id) REFERENCES table_relations(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='表关系列映射';
+
 -- 创建图布局表
 CREATE TABLE graph_layouts (
     id VARCHAR(36) NOT NULL PRIMARY KEY COMMENT '主键ID',
@@ -175,4 +232,24 @@ CREATE TABLE field_templates (
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     INDEX idx_templates_category (category),
     INDEX idx_templates_field_name (field_name)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='字段模板表';
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='字段模板表';
+
+-- 创建数据映射表
+CREATE TABLE data_mappings (
+    id VARCHAR(36) NOT NULL PRIMARY KEY COMMENT '主键ID',
+    name VARCHAR(100) NOT NULL COMMENT '名称',
+    description TEXT COMMENT '描述',
+    type VARCHAR(20) NOT NULL COMMENT '类型',
+    source_type VARCHAR(20) NOT NULL COMMENT '源类型',
+    target_type VARCHAR(20) NOT NULL COMMENT '目标类型',
+    status VARCHAR(20) NOT NULL DEFAULT 'DRAFT' COMMENT '状态',
+    configuration TEXT COMMENT '映射配置JSON',
+    mapping_rules TEXT COMMENT '映射规则JSON',
+    schedule VARCHAR(100) COMMENT '调度表达式',
+    last_execution_time DATETIME COMMENT '最近执行时间',
+    next_execution_time DATETIME COMMENT '下次执行时间',
+    execution_count INT NOT NULL DEFAULT 0 COMMENT '执行次数',
+    success_count INT NOT NULL DEFAULT 0 COMMENT '成功次数',
+    failure_count INT NOT NULL DEFAULT 0 COMMENT '失败次数',
+    is_active TINYINT(1) NOT NULL DEFAULT 1 COMMENT '是否启用'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='数据映射';